@@ -2,11 +2,15 @@ package com.samsung.ees.infra.api.dataprovider;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the Oracle to Parquet export service.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class TradeParquetApplication {
     public static void main(String[] args) {
         SpringApplication.run(TradeParquetApplication.class, args);
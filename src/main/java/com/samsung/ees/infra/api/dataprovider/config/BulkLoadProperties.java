@@ -0,0 +1,35 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Settings for the bulk loader and the synthetic data set seeded by DataInitializer ({@code data.bulk-load.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "data.bulk-load")
+public class BulkLoadProperties {
+    /** Number of synthetic rows seeded in addition to the sample rows; 0 seeds the sample rows only. */
+    private long rows = 0;
+
+    /** Number of distinct PARAM_INDEX values the synthetic rows are spread over. */
+    private int parameterCount = 100;
+
+    /** START_TIME of the first synthetic row of every parameter. */
+    private LocalDateTime startTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /** Spacing of consecutive synthetic rows of the same parameter. */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /** Rows bound into one multi-row INSERT via Statement.add(). */
+    private int batchSize = 1000;
+
+    /** Batches in flight at once, each on its own pooled connection. Keep at or below the pool size. */
+    private int concurrency = 4;
+
+    /** Batches compressed in parallel ahead of the inserts. */
+    private int compressionParallelism = Runtime.getRuntime().availableProcessors();
+}
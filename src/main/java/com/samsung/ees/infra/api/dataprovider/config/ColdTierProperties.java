@@ -0,0 +1,47 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the local Parquet cold tier ({@code export.cold-tier.*}).
+ * Closed time partitions of TD_FD_TRACE_PARAM are mirrored into {@code directory} and served from there.
+ */
+@Data
+@ConfigurationProperties(prefix = "export.cold-tier")
+public class ColdTierProperties {
+    /** Whether partitions are compacted and historical ranges are served from the local files. */
+    private boolean enabled = false;
+
+    /** Directory holding the partition files and manifest.json. */
+    private Path directory = Path.of("data", "cold-tier");
+
+    /** Length of the time partition each file covers. Changing it only affects partitions compacted afterwards. */
+    private Duration partitionDuration = Duration.ofDays(1);
+
+    /** Time a partition must have been over before it is considered closed, to let late rows arrive. */
+    private Duration closeDelay = Duration.ofDays(1);
+
+    /**
+     * Time a closed partition's row count must stay unchanged before it is compacted, so partitions still being
+     * loaded (e.g. backfills of old data) are not snapshotted half-way. Zero compacts on the first run.
+     */
+    private Duration settleWindow = Duration.ofMinutes(10);
+
+    /** Maximum number of partitions compacted per run. */
+    private int maxPartitionsPerRun = 7;
+
+    /** Codec of the partition files. */
+    private CompressionCodecName codec = CompressionCodecName.ZSTD;
+
+    /** Row group size of the partition files. Smaller row groups allow coarser skipping by PARAM_INDEX. */
+    private DataSize rowGroupSize = DataSize.ofMegabytes(16);
+
+    /** Maximum rows per page; bounds the granularity of column-index pruning. */
+    private int pageRowCountLimit = 1000;
+}
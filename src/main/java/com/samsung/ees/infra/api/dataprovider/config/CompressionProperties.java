@@ -0,0 +1,46 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for HTTP response compression of exports ({@code export.compression.*}).
+ * The compression level is picked by response size: small responses get a high level, large ones a fast level.
+ */
+@Data
+@ConfigurationProperties(prefix = "export.compression")
+public class CompressionProperties {
+    /** Whether Accept-Encoding is honoured on the export endpoint. */
+    private boolean enabled = true;
+
+    /** Responses smaller than this are always sent uncompressed. */
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+    /** Responses up to this size use the high compression level. */
+    private DataSize smallResponseSize = DataSize.ofMegabytes(1);
+
+    /** Responses above this size use the fast compression level; everything in between uses the default level. */
+    private DataSize largeResponseSize = DataSize.ofMegabytes(64);
+
+    // zstd 19는 1~3MB/s 수준이라 캐시 엔트리 잠금 안에서 압축하면 1MB 응답도 약 1초간 막히므로 6까지만 사용
+    private Levels zstd = new Levels(6, 3, 1);
+
+    private Levels gzip = new Levels(9, 6, 1);
+
+    @Data
+    public static class Levels {
+        private int small;
+        private int medium;
+        private int large;
+
+        public Levels() {
+        }
+
+        public Levels(int small, int medium, int large) {
+            this.small = small;
+            this.medium = medium;
+            this.large = large;
+        }
+    }
+}
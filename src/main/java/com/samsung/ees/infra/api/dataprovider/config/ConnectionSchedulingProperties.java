@@ -0,0 +1,29 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for pool-aware export scheduling and query tuning ({@code export.connections.*}).
+ * Pool sizes themselves are configured through {@code spring.r2dbc.pool.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "export.connections")
+public class ConnectionSchedulingProperties {
+    /** Pool connections bulk exports may never take, kept free for small interactive requests. */
+    private int reservedForInteractive = 2;
+
+    /** Exports whose estimated row count is at or below this value are scheduled as interactive. */
+    private long interactiveMaxRows = 10_000;
+
+    /** How long an export may wait for a connection permit before it is rejected with 503. */
+    private Duration acquireTimeout = Duration.ofSeconds(30);
+
+    /** Maximum number of exports waiting for a permit per priority; further requests are rejected immediately. */
+    private int maxPending = 100;
+
+    /** Fetch-size hint passed to the driver for export queries (rows per round trip). 0 leaves the driver default. */
+    private int fetchSize = 1000;
+}
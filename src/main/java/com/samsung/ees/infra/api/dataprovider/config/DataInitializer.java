@@ -1,34 +1,42 @@
 package com.samsung.ees.infra.api.dataprovider.config;
 
-import io.r2dbc.spi.ConnectionFactory;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import com.samsung.ees.infra.api.dataprovider.service.coldtier.ColdTierStore;
+import com.samsung.ees.infra.api.dataprovider.service.ingest.BulkTraceLoader;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Objects;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * 💡 [수정] Database를 프로그래밍 방식으로 초기화합니다.
  * 16진수 변환 대신, 원본 JSON을 직접 GZIP으로 압축하여 데이터 손상 문제를 최종적으로 해결합니다.
+ * 공유 DB를 바라보는 워커 인스턴스에서는 {@code data.initializer.enabled=false}로 비활성화합니다.
+ * 💡 행 단위 INSERT 대신 {@link BulkTraceLoader}로 적재하며, {@code data.bulk-load.rows}로 대량의 합성 데이터를 추가할 수 있습니다.
  */
 @Component
+@ConditionalOnProperty(name = "data.initializer.enabled", havingValue = "true", matchIfMissing = true)
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
+    private static final String[] STATUSES = {"OK", "WARN", "CRITICAL"};
 
     private final DatabaseClient databaseClient;
+    private final BulkTraceLoader bulkTraceLoader;
+    private final BulkLoadProperties bulkLoadProperties;
+    private final ColdTierStore coldTierStore;
 
-    public DataInitializer(ConnectionFactory connectionFactory) {
-        this.databaseClient = DatabaseClient.create(connectionFactory);
+    public DataInitializer(DatabaseClient databaseClient, BulkTraceLoader bulkTraceLoader, BulkLoadProperties bulkLoadProperties,
+                           ColdTierStore coldTierStore) {
+        this.databaseClient = databaseClient;
+        this.bulkTraceLoader = bulkTraceLoader;
+        this.bulkLoadProperties = bulkLoadProperties;
+        this.coldTierStore = coldTierStore;
     }
 
     @Override
@@ -36,59 +44,58 @@ public class DataInitializer implements CommandLineRunner {
         log.info("Starting programmatic data initialization...");
 
         // 샘플 데이터 목록 (원본 JSON 문자열 사용)
-        List<SampleData> sampleData = List.of(
-                new SampleData(1L, "2024-01-10T10:00:00", "2024-01-10T10:00:05", "{\"value\": 100, \"status\": \"OK\"}"),
-                new SampleData(2L, "2024-01-10T10:01:00", "2024-01-10T10:01:10", "{\"value\": 250, \"status\": \"WARN\", \"temp\": 45.5}"),
-                new SampleData(3L, "2024-01-10T10:02:00", "2024-01-10T10:02:15", "{\"value\": 500, \"status\": \"CRITICAL\", \"pressure\": 1.5}")
+        List<RawTraceData> sampleData = List.of(
+                sample(1L, "2024-01-10T10:00:00", "2024-01-10T10:00:05", "{\"value\": 100, \"status\": \"OK\"}"),
+                sample(2L, "2024-01-10T10:01:00", "2024-01-10T10:01:10", "{\"value\": 250, \"status\": \"WARN\", \"temp\": 45.5}"),
+                sample(3L, "2024-01-10T10:02:00", "2024-01-10T10:02:15", "{\"value\": 500, \"status\": \"CRITICAL\", \"pressure\": 1.5}")
         );
 
+        // 테이블을 다시 채우므로 이전 데이터를 복제한 cold tier 파티션과 매니페스트도 삭제
+        coldTierStore.clear();
+
         // 데이터 삽입 전 테이블을 비우는 로직
         Mono<Void> deleteData = databaseClient.sql("DELETE FROM TD_FD_TRACE_PARAM").then();
 
-        // 데이터를 순차적으로 삽입하는 로직
-        Mono<Void> insertData = Flux.fromIterable(sampleData)
-                .concatMap(this::insertSampleData)
-                .then();
+        // 샘플 데이터 + 합성 데이터를 배치 단위로 병렬 압축/적재
+        Flux<RawTraceData> rows = Flux.concat(Flux.fromIterable(sampleData), syntheticData());
 
         // 삭제 후 삽입 실행
         deleteData
-                .then(insertData)
+                .then(bulkTraceLoader.load(rows))
                 .doOnSubscribe(s -> log.info("Clearing existing data..."))
-                .doOnSuccess(v -> log.info("Programmatic data initialization completed successfully."))
+                .doOnSuccess(result -> log.info("Programmatic data initialization completed successfully."))
                 .doOnError(e -> log.error("Error during programmatic data initialization", e))
                 .subscribe();
     }
 
-    private Mono<Void> insertSampleData(SampleData data) {
-        String sql = "INSERT INTO TD_FD_TRACE_PARAM (PARAM_INDEX, START_TIME, END_TIME, TRACE_DATA) VALUES (:index, :start, :end, :data)";
-        return databaseClient.sql(sql)
-                .bind("index", data.paramIndex)
-                .bind("start", data.startTime)
-                .bind("end", data.endTime)
-                .bind("data", data.getGzippedJson()) // 압축된 바이트 배열을 직접 바인딩
-                .then();
-    }
-
-    // 원본 JSON 데이터를 GZIP 압축된 byte[]로 변환하는 헬퍼 클래스
-    private record SampleData(Long paramIndex, LocalDateTime startTime, LocalDateTime endTime, String rawJson) {
-        SampleData(Long paramIndex, String startTime, String endTime, String rawJson) {
-            this(paramIndex, LocalDateTime.parse(startTime), LocalDateTime.parse(endTime), rawJson);
+    /**
+     * Generates {@code data.bulk-load.rows} rows spread round-robin over {@code parameterCount} parameters,
+     * each parameter advancing by {@code interval}. Generated lazily, so large data sets are never held in memory.
+     * Synthetic parameters start after the sample indices and times so (PARAM_INDEX, START_TIME) stays unique.
+     */
+    private Flux<RawTraceData> syntheticData() {
+        long rows = bulkLoadProperties.getRows();
+        if (rows <= 0) {
+            return Flux.empty();
         }
-
-        /**
-         * 💡 [수정] 원본 JSON 문자열을 GZIP byte 배열로 압축합니다.
-         */
-        public byte[] getGzippedJson() {
-            Objects.requireNonNull(rawJson, "Raw JSON string cannot be null");
-            try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-                 GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream)) {
-                gzipStream.write(rawJson.getBytes(StandardCharsets.UTF_8));
-                gzipStream.finish(); // 스트림을 완전히 종료하여 모든 데이터가 쓰이도록 보장
-                return byteStream.toByteArray();
-            } catch (IOException e) {
-                // CommandLineRunner에서 발생하는 예외는 애플리케이션 시작을 중단시킬 수 있으므로 UncheckedIOException으로 래핑
-                throw new UncheckedIOException("Failed to gzip content for paramIndex: " + this.paramIndex, e);
+        int parameterCount = Math.max(1, bulkLoadProperties.getParameterCount());
+        log.info("Seeding {} synthetic rows over {} parameters.", rows, parameterCount);
+        return Flux.generate(() -> 0L, (i, sink) -> {
+            long paramIndex = 100 + (i % parameterCount);
+            long seq = i / parameterCount;
+            LocalDateTime start = bulkLoadProperties.getStartTime().plus(bulkLoadProperties.getInterval().multipliedBy(seq));
+            String json = "{\"value\": " + (seq * 7 + paramIndex) % 1000
+                    + ", \"status\": \"" + STATUSES[(int) (seq % STATUSES.length)]
+                    + "\", \"temp\": " + (20 + (seq + paramIndex) % 50) + ".5}";
+            sink.next(new RawTraceData(paramIndex, start, start.plusSeconds(5), json));
+            if (i + 1 >= rows) {
+                sink.complete();
             }
-        }
+            return i + 1;
+        });
+    }
+
+    private static RawTraceData sample(Long paramIndex, String startTime, String endTime, String rawJson) {
+        return new RawTraceData(paramIndex, LocalDateTime.parse(startTime), LocalDateTime.parse(endTime), rawJson);
     }
 }
@@ -0,0 +1,34 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for per-export resource accounting and on-demand JFR recordings ({@code export.profiling.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "export.profiling")
+public class ProfilingProperties {
+    /** Whether CPU time and allocated bytes are accounted per export and stage. */
+    private boolean accountingEnabled = true;
+
+    /** Number of finished exports kept for the {@code exportusage} actuator endpoint. */
+    private int recentExports = 100;
+
+    /** Whether the {@code jfr} actuator endpoint may start recordings (they include env vars and system properties). */
+    private boolean jfrEnabled = false;
+
+    /** JFR settings of on-demand recordings: "default" (low overhead) or "profile" (more detail). */
+    private String jfrSettings = "profile";
+
+    /** Recording length when the request does not specify one. */
+    private Duration jfrDefaultDuration = Duration.ofSeconds(30);
+
+    /**
+     * Longest recording a request may ask for. The request blocks a management thread for that long (plus 30s to dump),
+     * so keep it below the read timeout of clients and proxies in front of the management port.
+     */
+    private Duration jfrMaxDuration = Duration.ofMinutes(5);
+}
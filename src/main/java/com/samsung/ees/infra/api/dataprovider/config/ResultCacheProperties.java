@@ -0,0 +1,31 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the export result cache ({@code export.cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "export.cache")
+public class ResultCacheProperties {
+    private boolean enabled = true;
+
+    /** Upper bound of cached bytes, including pre-compressed variants. */
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+
+    /** Results larger than this are never cached. */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(32);
+
+    /** Time after which a cached result is dropped. */
+    private Duration ttl = Duration.ofMinutes(30);
+
+    /**
+     * Only ranges ending at least this long before now are cached: the ingest lag after which no more rows are expected
+     * for a START_TIME. Results of more recent ranges can still change and are never cached.
+     */
+    private Duration immutableAfter = Duration.ofDays(1);
+}
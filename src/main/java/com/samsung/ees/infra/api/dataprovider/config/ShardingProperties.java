@@ -0,0 +1,47 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for the sharded export coordinator ({@code export.sharding.*}).
+ * When {@code workers} is empty, the coordinator runs {@code localWorkers} in-process stand-ins instead of remote instances.
+ */
+@Data
+@ConfigurationProperties(prefix = "export.sharding")
+public class ShardingProperties {
+    /** Base URLs of worker instances of this service, e.g. http://worker-1:8080. */
+    private List<String> workers = new ArrayList<>();
+
+    /** Number of in-process stand-in workers used when no remote workers are configured. */
+    private int localWorkers = 2;
+
+    /**
+     * Length of the time slice each shard covers when shards cannot be planned from the statistics index
+     * (index not ready, or rows it has not indexed yet).
+     */
+    private Duration sliceDuration = Duration.ofDays(1);
+
+    /** Stored (compressed) TRACE_DATA size up to which adjacent stats buckets are combined into one shard. */
+    private DataSize targetShardSize = DataSize.ofMegabytes(32);
+
+    /** Upper bound on the number of shards of one request; larger requests are rejected with 400. */
+    private int maxShards = 1000;
+
+    /** Maximum number of shards fetched concurrently. */
+    private int concurrency = 4;
+
+    /** Retry attempts per shard for I/O errors, timeouts and 5xx answers; each retry moves to the next worker. */
+    private int maxRetries = 2;
+
+    /** Initial backoff between shard retries. */
+    private Duration retryBackoff = Duration.ofMillis(200);
+
+    /** Timeout applied to a single shard fetch. */
+    private Duration shardTimeout = Duration.ofMinutes(5);
+}
@@ -0,0 +1,41 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-parameter statistics index ({@code export.stats.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "export.stats")
+public class StatsProperties {
+    /** Whether the statistics index is maintained at all. */
+    private boolean enabled = true;
+
+    /** Width of the time buckets row counts and byte sizes are aggregated into. */
+    private Duration bucketDuration = Duration.ofHours(1);
+
+    /** Interval after which the index is rebuilt from scratch instead of incrementally, to pick up late or deleted rows. */
+    private Duration fullRebuildInterval = Duration.ofHours(1);
+
+    /**
+     * Whether exports may drop parameter indices the index reports as empty for the requested range.
+     * The index can miss late rows, so a reported-empty index is confirmed with a key-only query before it is dropped.
+     */
+    private boolean skipEmptyRanges = true;
+
+    /**
+     * SQL expression yielding the stored (compressed) size of TRACE_DATA.
+     * H2: OCTET_LENGTH(TRACE_DATA), Oracle: DBMS_LOB.GETLENGTH(TRACE_DATA).
+     */
+    private String sizeExpression = "OCTET_LENGTH(TRACE_DATA)";
+
+    /**
+     * SQL expression yielding START_TIME as whole seconds since 1970-01-01 (UTC), used to bucket rows in the database.
+     * H2: DATEDIFF('SECOND', TIMESTAMP '1970-01-01 00:00:00', START_TIME),
+     * Oracle: ROUND((CAST(START_TIME AS DATE) - DATE '1970-01-01') * 86400).
+     */
+    private String epochSecondsExpression = "DATEDIFF('SECOND', TIMESTAMP '1970-01-01 00:00:00', START_TIME)";
+}
@@ -0,0 +1,41 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import com.samsung.ees.infra.api.dataprovider.exception.ExportRejectedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dedicated bounded executor for the blocking writer of {@code /parquet/stream}, passed to that endpoint's
+ * {@link org.springframework.web.context.request.async.WebAsyncTask} only, so long streamed exports cannot starve
+ * other async work and other async requests never run (or get rejected) here.
+ * When all threads are busy and the queue is full the request fails with {@link ExportRejectedException} (503).
+ * The executor is not exposed as a bean, so Spring Boot's {@code applicationTaskExecutor} and the MVC async
+ * executor stay in place.
+ */
+@Component
+public class StreamingExportExecutor implements DisposableBean {
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public StreamingExportExecutor(StreamingExportProperties properties) {
+        executor.setThreadNamePrefix("export-stream-");
+        executor.setCorePoolSize(properties.getMaxConcurrent());
+        executor.setMaxPoolSize(properties.getMaxConcurrent());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        // 💡 큐까지 가득 차면 대기시키지 않고 503으로 거절 (응답 커밋 전이므로 상태 코드로 전달 가능)
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            throw new ExportRejectedException("Too many streamed exports in progress; retry later.");
+        });
+        executor.initialize();
+    }
+
+    public AsyncTaskExecutor executor() {
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.samsung.ees.infra.api.dataprovider.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the progressive export endpoint ({@code export.streaming.*}).
+ * The response is committed before the query runs and every row group is flushed to the client as soon as it is encoded.
+ */
+@Data
+@ConfigurationProperties(prefix = "export.streaming")
+public class StreamingExportProperties {
+    /** Row group size of streamed files. Smaller row groups reach the client sooner but compress slightly worse. */
+    private DataSize rowGroupSize = DataSize.ofMegabytes(1);
+
+    /** Number of rows requested from the database ahead of the encoder. */
+    private int prefetch = 256;
+
+    /** Maximum duration of one streamed export; the request is aborted after it. Only applies to this endpoint. */
+    private Duration timeout = Duration.ofMinutes(10);
+
+    /** Threads of the executor running streamed exports; each export blocks one thread until it ends. */
+    private int maxConcurrent = 8;
+
+    /** Streamed exports waiting for a thread; further requests are rejected with 503. */
+    private int queueCapacity = 16;
+}
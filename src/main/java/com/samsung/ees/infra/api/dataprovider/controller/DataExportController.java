@@ -1,10 +1,22 @@
 package com.samsung.ees.infra.api.dataprovider.controller;
 
 import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
 import com.samsung.ees.infra.api.dataprovider.exception.NoDataFoundException;
 import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
 import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportPriority;
+import com.samsung.ees.infra.api.dataprovider.service.ExportResultCache;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
 import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.service.ResponseCompressor;
+import com.samsung.ees.infra.api.dataprovider.service.coldtier.ColdTierQueryRouter;
+import com.samsung.ees.infra.api.dataprovider.service.coldtier.ExportRoute;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportResourceAccounting;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,10 +25,17 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.Optional;
 
 /**
  * REST Controller for exporting sensor data as a Parquet file.
@@ -29,9 +48,16 @@ import reactor.core.publisher.Mono;
 public class DataExportController {
     private final ParameterDataRepository parameterDataRepository;
     private final ParquetConversionService parquetConversionService;
+    private final ParameterStatsIndex parameterStatsIndex;
+    private final ExportScheduler exportScheduler;
+    private final ExportResultCache exportResultCache;
+    private final ResponseCompressor responseCompressor;
+    private final ColdTierQueryRouter coldTierQueryRouter;
+    private final ExportResourceAccounting exportResourceAccounting;
 
     @GetMapping("/parquet")
-    public Mono<ResponseEntity<byte[]>> exportToParquet(@Valid DataExportRequest request) {
+    public Mono<ResponseEntity<byte[]>> exportToParquet(@Valid DataExportRequest request,
+                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         log.info("Received request to export data for parameter indices: {} from {} to {}",
                 request.getParameterIndices(), request.getStartTime(), request.getEndTime());
@@ -42,22 +68,93 @@ public class DataExportController {
             return Mono.error(new IllegalArgumentException("Invalid date range: startTime cannot be after endTime."));
         }
 
-        Flux<ParameterData> sensorDataFlux = parameterDataRepository.findByIdsAndTimeRange(
-                request.getParameterIndices(), request.getStartTime(), request.getEndTime());
+        Mono<ExportResultCache.Entry> result = exportResultCache.get(request)
+                .map(Mono::just)
+                .orElseGet(() -> export(request));
+
+        return result
+                .publishOn(Schedulers.boundedElastic()) // 압축은 CPU 작업이므로 요청 스레드에서 분리
+                .map(entry -> toResponse(entry, acceptEncoding));
+    }
+
+    private Mono<ExportResultCache.Entry> export(DataExportRequest request) {
+        // 통계 인덱스상 비어 있는 PARAM_INDEX는 키만 조회해 확인한 뒤 쿼리에서 제외 (늦게 적재된 행 누락 방지)
+        return parameterStatsIndex.nonEmptyParameterIndices(request)
+                .flatMap(parameterIndices -> {
+                    if (parameterIndices.isEmpty()) {
+                        log.info("No rows for the requested range per key lookup. Skipping trace data query.");
+                        return Mono.error(new NoDataFoundException("No data found for the given criteria."));
+                    }
+                    return export(request, parameterIndices);
+                });
+    }
+
+    private Mono<ExportResultCache.Entry> export(DataExportRequest request, List<Long> parameterIndices) {
+        // 💡 cold tier에 압축된 과거 파티션은 로컬 Parquet 파일에서 읽고, 최근/미압축 구간만 DB에서 조회
+        // KEY_INTERNED 파일은 파일마다 스키마가 달라 cold tier 결과와 이어 붙일 수 없으므로 DB에서 한 번에 변환
+        TraceEncoding traceEncoding = request.getTraceEncoding();
+        ExportRoute route = traceEncoding == TraceEncoding.JSON
+                ? coldTierQueryRouter.route(request.getStartTime(), request.getEndTime())
+                : ExportRoute.databaseOnly(request.getStartTime(), request.getEndTime());
+
+        // 커넥션 풀 용량을 고려해 대용량 export가 소량 요청용 예비 커넥션을 점유하지 않도록 허가를 받아 조회
+        Optional<ExportEstimate> estimate = parameterStatsIndex.estimate(request);
+        ExportPriority priority = exportScheduler.classify(estimate);
+        ExportUsage usage = exportResourceAccounting.start(describe(request));
+        Flux<ParameterData> sensorDataFlux = route.hotRanges().isEmpty() ? Flux.empty()
+                : exportScheduler.withConnectionPermit(priority, queryHotRanges(route, parameterIndices))
+                        .transform(usage::trackQuery);
+
+        // 💡 cold 파티션과 DB 행을 (PARAM_INDEX, START_TIME) 순으로 k-way 병합 (cold 행은 이미 압축 해제된 JSON)
+        Mono<byte[]> parquet = route.coldPartitions().isEmpty()
+                ? parquetConversionService.convertToParquet(sensorDataFlux, traceEncoding)
+                : parquetConversionService.convertToParquet(coldTierQueryRouter.merge(route, parameterIndices,
+                        request.getStartTime(), request.getEndTime(), sensorDataFlux), traceEncoding, false);
 
-        return parquetConversionService.convertToParquet(sensorDataFlux)
+        // 적재 지연(export.cache.immutable-after)보다 오래된, 더 이상 변하지 않는 과거 범위만 캐시
+        boolean cacheable = exportResultCache.isImmutable(request);
+        return parquet
                 .map(parquetBytes -> {
                     if (parquetBytes.length == 0) {
                         throw new NoDataFoundException("No data found for the given criteria.");
                     }
+                    log.info("Successfully generated Parquet file of size: {} bytes", parquetBytes.length);
+                    return exportResultCache.put(request, parquetBytes, cacheable);
+                })
+                .doFinally(signal -> exportResourceAccounting.finish(usage, signal == SignalType.ON_COMPLETE))
+                .contextWrite(Context.of(ExportUsage.CONTEXT_KEY, usage));
+    }
 
-                    HttpHeaders headers = new HttpHeaders();
-                    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                    headers.setContentDispositionFormData("attachment", "parameter_data.parquet");
-                    headers.setContentLength(parquetBytes.length);
+    // 여러 DB 구간은 하나의 쿼리로 조회해 전체 결과가 (PARAM_INDEX, START_TIME) 순으로 정렬되도록 함
+    private Flux<ParameterData> queryHotRanges(ExportRoute route, List<Long> parameterIndices) {
+        List<ExportRoute.HotRange> hotRanges = route.hotRanges();
+        if (hotRanges.size() == 1) {
+            return parameterDataRepository.findByIdsAndTimeRange(parameterIndices, hotRanges.get(0).start(), hotRanges.get(0).end());
+        }
+        return parameterDataRepository.findByIdsAndTimeRanges(parameterIndices, hotRanges.stream()
+                .map(range -> new ParameterDataRepository.TimeRange(range.start(), range.end()))
+                .toList());
+    }
 
-                    log.info("Successfully generated Parquet file of size: {} bytes", parquetBytes.length);
-                    return new ResponseEntity<>(parquetBytes, headers, HttpStatus.OK);
-                });
+    static String describe(DataExportRequest request) {
+        return "parameterIndices=" + request.getParameterIndices() + " range=[" + request.getStartTime() + ", "
+                + request.getEndTime() + "] encoding=" + request.getTraceEncoding();
+    }
+
+    private ResponseEntity<byte[]> toResponse(ExportResultCache.Entry entry, String acceptEncoding) {
+        byte[] parquetBytes = entry.parquetBytes();
+        ContentEncoding encoding = responseCompressor.negotiate(acceptEncoding, parquetBytes.length);
+        byte[] body = entry.encoded(encoding, bytes -> responseCompressor.compress(bytes, encoding));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "parameter_data.parquet");
+        headers.setContentLength(body.length);
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding != ContentEncoding.IDENTITY) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+            log.info("Sending Parquet file {}-encoded: {} -> {} bytes", encoding.token(), parquetBytes.length, body.length);
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 }
@@ -0,0 +1,43 @@
+package com.samsung.ees.infra.api.dataprovider.controller;
+
+import com.samsung.ees.infra.api.dataprovider.dto.ExportUsageSummary;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportResourceAccounting;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code GET /actuator/exportusage}) listing recently finished exports with their CPU time and
+ * allocation per stage. The summaries carry the full request descriptions, so the endpoint is only reachable when
+ * it is added to {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@WebEndpoint(id = "exportusage")
+@RequiredArgsConstructor
+public class ExportUsageEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ExportResourceAccounting exportResourceAccounting;
+
+    /**
+     * @param sort  {@code recent} (newest first, default), {@code cpu} or {@code allocated} (heaviest first).
+     * @param limit maximum number of exports returned (default 20).
+     */
+    @ReadOperation
+    public WebEndpointResponse<List<ExportUsageSummary>> exports(@Nullable String sort, @Nullable Integer limit) {
+        ExportResourceAccounting.RecentOrder order;
+        try {
+            order = sort == null
+                    ? ExportResourceAccounting.RecentOrder.RECENT
+                    : ExportResourceAccounting.RecentOrder.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>(exportResourceAccounting.recent(order, limit == null ? DEFAULT_LIMIT : limit));
+    }
+}
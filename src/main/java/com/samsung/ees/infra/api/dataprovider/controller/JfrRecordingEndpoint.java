@@ -0,0 +1,72 @@
+package com.samsung.ees.infra.api.dataprovider.controller;
+
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.exception.RecordingInProgressException;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Actuator endpoint ({@code POST /actuator/jfr}) capturing a JFR recording of the given length and returning it as a
+ * .jfr file. Recordings contain environment variables and system properties, so they need both
+ * {@code export.profiling.jfr-enabled=true} and the endpoint added to {@code management.endpoints.web.exposure.include}.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint {
+    /** Time allowed on top of the recording length to dump and read the recording. */
+    static final Duration DUMP_GRACE = Duration.ofSeconds(30);
+
+    private final JfrRecordingService jfrRecordingService;
+    private final ProfilingProperties properties;
+
+    /**
+     * Records for {@code duration} (e.g. {@code 30s}, {@code 2m}; default {@code export.profiling.jfr-default-duration}).
+     * 404 if on-demand recordings are disabled, 400 for an invalid duration, 409 while another recording is running,
+     * 500 if the recording cannot be started or dumped (e.g. unknown {@code jfr-settings}).
+     * The call blocks a management request thread for the whole recording (at most {@code jfr-max-duration} plus
+     * {@link #DUMP_GRACE}), so clients and proxies in front of the management port need a longer read timeout.
+     * Only one recording runs at a time, so at most one thread is held.
+     */
+    @WriteOperation
+    public WebEndpointResponse<Resource> record(@Nullable String duration) {
+        if (!properties.isJfrEnabled()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Duration length;
+        try {
+            length = duration == null ? properties.getJfrDefaultDuration() : DurationStyle.detectAndParse(duration);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        log.info("Received on-demand JFR recording request for {}.", length);
+        try {
+            // 💡 녹화 길이 + 유예 시간까지만 기다림 (초과 시 구독 취소로 녹화가 종료·폐기됨)
+            byte[] recording = jfrRecordingService.record(length).block(length.plus(DUMP_GRACE));
+            return new WebEndpointResponse<>(new ByteArrayResource(recording));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected JFR recording request: {}", e.getMessage());
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (RecordingInProgressException e) {
+            return new WebEndpointResponse<>(409);
+        } catch (IllegalStateException | UncheckedIOException e) {
+            // 잘못된 jfr-settings, dump 실패, 대기 시간 초과: 스택 트레이스 없는 500으로 응답하고 원인은 로그로 남김
+            log.error("On-demand JFR recording of {} failed", length, e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+}
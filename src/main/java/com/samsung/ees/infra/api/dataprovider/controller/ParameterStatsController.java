@@ -0,0 +1,81 @@
+package com.samsung.ees.infra.api.dataprovider.controller;
+
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.dto.ParameterStatsSummary;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST Controller exposing the per-parameter statistics index.
+ * Lets clients learn the size and time coverage of an export without running it.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/data/parameters/trace")
+@RequiredArgsConstructor
+public class ParameterStatsController {
+    static final String HEADER_ESTIMATED_ROWS = "X-Estimated-Row-Count";
+    static final String HEADER_ESTIMATED_BYTES = "X-Estimated-Compressed-Bytes";
+    static final String HEADER_ESTIMATE_COMPLETE = "X-Estimate-Complete";
+    static final String HEADER_INDEXED_UNTIL = "X-Indexed-Until";
+
+    private final ParameterStatsIndex parameterStatsIndex;
+
+    /**
+     * Returns the summary of the given parameter indices, or of every indexed parameter if none are given.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<ParameterStatsSummary>> getStats(
+            @RequestParam(required = false) List<Long> parameterIndices,
+            @RequestParam(defaultValue = "false") boolean includeBuckets) {
+        if (!parameterStatsIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        parameterStatsIndex.indexedUntil().ifPresent(until -> headers.set(HEADER_INDEXED_UNTIL, until.toString()));
+        return new ResponseEntity<>(parameterStatsIndex.summaries(parameterIndices, includeBuckets), headers, HttpStatus.OK);
+    }
+
+    /**
+     * Cheap pre-flight for the export endpoint: answers with the estimated size as headers and no body.
+     * 503 while the index is still being built. The estimate is a hint: an estimated row count of 0 does not rule out
+     * rows that arrived late and are not indexed yet, so it never answers 404.
+     */
+    @RequestMapping(value = "/parquet", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> estimateExport(@Valid DataExportRequest request) {
+        if (request.getStartTime().isAfter(request.getEndTime())) {
+            throw new IllegalArgumentException("Invalid date range: startTime cannot be after endTime.");
+        }
+
+        Optional<ExportEstimate> estimate = parameterStatsIndex.estimate(request);
+        if (estimate.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        ExportEstimate e = estimate.get();
+        log.debug("Export estimate for {}: {}", request, e);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HEADER_ESTIMATED_ROWS, String.valueOf(e.estimatedRows()));
+        headers.set(HEADER_ESTIMATED_BYTES, String.valueOf(e.estimatedCompressedBytes()));
+        headers.set(HEADER_ESTIMATE_COMPLETE, String.valueOf(e.complete()));
+        if (e.indexedUntil() != null) {
+            headers.set(HEADER_INDEXED_UNTIL, e.indexedUntil().toString());
+        }
+        // 인덱스는 늦게 적재된 행을 놓칠 수 있으므로 추정치가 0이어도 404로 단정하지 않음
+        return new ResponseEntity<>(headers, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,59 @@
+package com.samsung.ees.infra.api.dataprovider.controller;
+
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
+import com.samsung.ees.infra.api.dataprovider.exception.NoDataFoundException;
+import com.samsung.ees.infra.api.dataprovider.service.shard.ShardedExportCoordinator;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller for coordinator-mode exports that are split across several worker instances.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/data/parameters/trace")
+@RequiredArgsConstructor
+public class ShardedExportController {
+    private final ShardedExportCoordinator shardedExportCoordinator;
+
+    @GetMapping("/parquet/sharded")
+    public Mono<ResponseEntity<byte[]>> exportToParquetSharded(@Valid DataExportRequest request) {
+
+        log.info("Received sharded export request for parameter indices: {} from {} to {}",
+                request.getParameterIndices(), request.getStartTime(), request.getEndTime());
+
+        if (request.getStartTime().isAfter(request.getEndTime())) {
+            log.warn("Invalid date range: startTime {} is after endTime {}.", request.getStartTime(), request.getEndTime());
+            return Mono.error(new IllegalArgumentException("Invalid date range: startTime cannot be after endTime."));
+        }
+        // 샤드 결과는 row group 단위로 이어 붙이므로 모든 샤드의 스키마가 같은 JSON 인코딩만 지원
+        if (request.getTraceEncoding() != TraceEncoding.JSON) {
+            return Mono.error(new IllegalArgumentException("Sharded export supports only the JSON trace encoding."));
+        }
+
+        return shardedExportCoordinator.export(request)
+                .map(parquetBytes -> {
+                    if (parquetBytes.length == 0) {
+                        throw new NoDataFoundException("No data found for the given criteria.");
+                    }
+
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+                    headers.setContentDispositionFormData("attachment", "parameter_data.parquet");
+                    headers.setContentLength(parquetBytes.length);
+
+                    log.info("Successfully generated sharded Parquet file of size: {} bytes", parquetBytes.length);
+                    return new ResponseEntity<>(parquetBytes, headers, HttpStatus.OK);
+                });
+    }
+}
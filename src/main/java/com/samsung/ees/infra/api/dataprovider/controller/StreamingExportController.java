@@ -0,0 +1,154 @@
+package com.samsung.ees.infra.api.dataprovider.controller;
+
+import com.samsung.ees.infra.api.dataprovider.config.StreamingExportExecutor;
+import com.samsung.ees.infra.api.dataprovider.config.StreamingExportProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
+import com.samsung.ees.infra.api.dataprovider.exception.NoDataFoundException;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportPriority;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
+import com.samsung.ees.infra.api.dataprovider.service.ProgressiveParquetExporter;
+import com.samsung.ees.infra.api.dataprovider.service.ResponseCompressor;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportResourceAccounting;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ContentDisposition;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * REST Controller for progressive exports: the response is committed right away and row groups are sent as they are encoded.
+ * Request errors detected before the first byte (invalid range, empty per the stats index, no free streaming thread) still get
+ * a regular error status. Once the first bytes are sent the status is 200 and can no longer change: a failure after that
+ * point ends the body with the partial file followed by {@link ProgressiveParquetExporter#ERROR_MARKER} and the error
+ * message instead of the Parquet footer, and is also reported through the {@code X-Export-Status} / {@code X-Export-Error}
+ * trailer fields. Clients must check that the body ends with "PAR1" (or read the trailers) rather than trust the status.
+ * <p>
+ * The writer blocks its thread for the whole export, so it runs, together with the empty-parameter lookup, on the bounded
+ * {@link StreamingExportExecutor} with this endpoint's own timeout ({@code export.streaming.timeout}); an export whose writer is stuck past the timeout (no rows, or a client not reading)
+ * is aborted after a grace period, leaving a body that ends neither with "PAR1" nor with the marker.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/data/parameters/trace")
+@RequiredArgsConstructor
+public class StreamingExportController {
+    private static final Duration ABORT_GRACE = Duration.ofSeconds(30);
+
+    private final ParameterDataRepository parameterDataRepository;
+    private final ParameterStatsIndex parameterStatsIndex;
+    private final ExportScheduler exportScheduler;
+    private final ProgressiveParquetExporter progressiveParquetExporter;
+    private final ExportResourceAccounting exportResourceAccounting;
+    private final StreamingExportProperties streamingExportProperties;
+    private final StreamingExportExecutor streamingExportExecutor;
+    private final ResponseCompressor responseCompressor;
+
+    @GetMapping("/parquet/stream")
+    public WebAsyncTask<Void> exportToParquetStream(@Valid DataExportRequest request, HttpServletResponse response,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        long receivedNanos = System.nanoTime();
+
+        log.info("Received streaming export request for parameter indices: {} from {} to {}",
+                request.getParameterIndices(), request.getStartTime(), request.getEndTime());
+
+        if (request.getStartTime().isAfter(request.getEndTime())) {
+            log.warn("Invalid date range: startTime {} is after endTime {}.", request.getStartTime(), request.getEndTime());
+            throw new IllegalArgumentException("Invalid date range: startTime cannot be after endTime.");
+        }
+        // key-interned 스키마는 모든 행을 본 뒤에야 정해지므로 점진 전송이 불가능
+        if (request.getTraceEncoding() != TraceEncoding.JSON) {
+            throw new IllegalArgumentException("Streaming export supports only the JSON trace encoding.");
+        }
+
+        AtomicReference<ProgressiveParquetExporter.Result> result = new AtomicReference<>();
+        Callable<Void> body = () -> {
+            // 💡 확인 쿼리도 작업 스레드에서 기다림 (요청 스레드를 R2DBC에 묶지 않고 endpoint timeout 안에서 실행).
+            // 헤더는 그 뒤에 설정하므로 결과가 없으면 아직 커밋되지 않은 응답에 404로 응답
+            List<Long> parameterIndices = parameterStatsIndex.nonEmptyParameterIndices(request).block();
+            if (parameterIndices == null || parameterIndices.isEmpty()) {
+                throw new NoDataFoundException("No data found for the given criteria.");
+            }
+            Optional<ExportEstimate> estimate = parameterStatsIndex.estimate(request);
+            ExportPriority priority = exportScheduler.classify(estimate);
+            long estimatedSize = estimate.map(ExportEstimate::estimatedCompressedBytes).orElse(Long.MAX_VALUE);
+            ContentEncoding encoding = responseCompressor.negotiate(acceptEncoding, estimatedSize);
+            ExportUsage usage = exportResourceAccounting.start(DataExportController.describe(request) + " (stream)");
+            Flux<ParameterData> rows = exportScheduler.withConnectionPermit(priority,
+                    parameterDataRepository.findByIdsAndTimeRange(parameterIndices, request.getStartTime(), request.getEndTime()))
+                    .transform(usage::trackQuery);
+
+            // 헤더는 작업 스레드에서 설정 (executor가 거절하면 응답을 건드리지 않은 채 503으로 응답)
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.formData().name("attachment").filename("parameter_data.parquet").build().toString());
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (encoding != ContentEncoding.IDENTITY) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+            }
+            response.setHeader(HttpHeaders.TRAILER, String.join(", ", ProgressiveParquetExporter.STATUS_TRAILER,
+                    ProgressiveParquetExporter.ROWS_TRAILER, ProgressiveParquetExporter.ERROR_TRAILER));
+            // 💡 응답이 커밋된 뒤의 결과는 상태 코드로 알릴 수 없으므로 trailer로 전달 (chunked 응답에서만 지원)
+            try {
+                response.setTrailerFields(() -> result.get() == null ? Map.of() : result.get().trailers());
+            } catch (IllegalStateException e) {
+                log.debug("Trailer fields are not supported for this response: {}", e.getMessage());
+            }
+
+            try (ExportUsage.Span span = usage.span(ExportStage.ENCODE)) {
+                OutputStream out = responseCompressor.wrap(response.getOutputStream(), encoding, estimatedSize);
+                result.set(progressiveParquetExporter.write(rows, out, receivedNanos));
+                finish(out);
+            } finally {
+                exportResourceAccounting.finish(usage, result.get() != null && result.get().completed());
+            }
+            return null;
+        };
+
+        // export.streaming.timeout은 writer가 행 단위로 확인해 오류 마커로 종료하고, 행이 더 오지 않거나 클라이언트가
+        // 읽지 않아 writer가 멈춘 경우에만 유예 시간 뒤 비동기 요청 자체를 종료 (이 경우 본문은 마커 없이 잘림)
+        WebAsyncTask<Void> task = new WebAsyncTask<>(streamingExportProperties.getTimeout().plus(ABORT_GRACE).toMillis(),
+                streamingExportExecutor.executor(), body);
+        task.onTimeout(() -> {
+            log.warn("Aborting streamed export stalled past {}: {}", streamingExportProperties.getTimeout(), DataExportController.describe(request));
+            return null;
+        });
+        return task;
+    }
+
+    // 💡 trailer가 전송되기 전에 encoder를 종료 (gzip trailer / zstd frame 끝까지 본문에 포함)
+    private static void finish(OutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊긴 경우 등: 결과는 이미 기록됨
+            log.debug("Could not finish the streamed response: {}", e.getMessage());
+        }
+    }
+}
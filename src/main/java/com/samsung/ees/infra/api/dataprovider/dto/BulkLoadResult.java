@@ -0,0 +1,18 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a bulk load into TD_FD_TRACE_PARAM.
+ *
+ * @param rows    Number of rows inserted.
+ * @param batches Number of multi-row batches executed.
+ * @param elapsed Wall-clock time of the load, including compression.
+ */
+public record BulkLoadResult(long rows, long batches, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : rows * 1_000_000_000.0 / nanos;
+    }
+}
@@ -0,0 +1,12 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Part of a parameter's requested time window that holds rows according to the statistics index: one time bucket
+ * clipped to the request. Bounds are inclusive, matching {@link ExportShard}.
+ *
+ * @param bytes Estimated stored (GZIP) size of the rows in the range; 0 if unknown (not indexed yet).
+ */
+public record CoveredRange(LocalDateTime start, LocalDateTime end, long bytes) {
+}
@@ -24,4 +24,7 @@ public class DataExportRequest {
     @NotNull(message = "endTime cannot be null.")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private LocalDateTime endTime;
+
+    /** Layout of TRACE_DATA in the exported file; plain JSON strings unless requested otherwise. */
+    private TraceEncoding traceEncoding = TraceEncoding.JSON;
 }
@@ -0,0 +1,21 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Size estimate of an export derived from the statistics index, without touching TRACE_DATA.
+ *
+ * @param estimatedRows             Estimated number of rows; edge buckets are prorated by overlap.
+ * @param estimatedCompressedBytes  Estimated stored (GZIP) size of the matching TRACE_DATA.
+ * @param nonEmptyParameterIndices  Requested indices the index has rows for in the range; unlisted indices may still have unindexed rows.
+ * @param complete                  Whether the whole range lies before {@code indexedUntil}. Only a hint: rows that arrive late
+ *                                  with an older START_TIME are not indexed until the next full rebuild.
+ * @param indexedUntil              Highest START_TIME covered by the index.
+ */
+public record ExportEstimate(long estimatedRows,
+                             long estimatedCompressedBytes,
+                             List<Long> nonEmptyParameterIndices,
+                             boolean complete,
+                             LocalDateTime indexedUntil) {
+}
@@ -0,0 +1,19 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A single unit of work of a sharded export: one parameter index over a sub-range of the requested time window.
+ * Time bounds are inclusive, matching the semantics of {@link DataExportRequest}.
+ */
+public record ExportShard(int shardId, Long paramIndex, LocalDateTime startTime, LocalDateTime endTime) {
+
+    public DataExportRequest toRequest() {
+        DataExportRequest request = new DataExportRequest();
+        request.setParameterIndices(List.of(paramIndex));
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        return request;
+    }
+}
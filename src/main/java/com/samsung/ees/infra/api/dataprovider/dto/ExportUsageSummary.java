@@ -0,0 +1,18 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * CPU time and allocated bytes of one finished export, in total and per stage.
+ *
+ * @param completed Whether the export produced its file; false for failed or cancelled exports.
+ */
+public record ExportUsageSummary(long id, String description, Instant startedAt, long wallMillis, boolean completed,
+                                 long rows, long cpuNanos, long allocatedBytes, Map<ExportStage, StageUsage> stages) {
+
+    public record StageUsage(long cpuNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-parameter summary served by the stats endpoint.
+ */
+public record ParameterStatsSummary(Long paramIndex,
+                                    long rowCount,
+                                    long compressedBytes,
+                                    LocalDateTime minStartTime,
+                                    LocalDateTime maxStartTime,
+                                    List<Bucket> buckets) {
+
+    public record Bucket(LocalDateTime bucketStart, long rowCount, long compressedBytes) {
+    }
+}
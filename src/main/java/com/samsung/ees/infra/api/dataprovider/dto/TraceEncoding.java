@@ -0,0 +1,16 @@
+package com.samsung.ees.infra.api.dataprovider.dto;
+
+/**
+ * How TRACE_DATA is laid out in an exported Parquet file.
+ */
+public enum TraceEncoding {
+    /** One {@code traceData} string column holding the JSON payload of each row verbatim. */
+    JSON,
+
+    /**
+     * JSON keys are interned once per file into a {@code trace} group with one typed column per key:
+     * integers use delta encoding, decimals byte-stream-split, strings (e.g. status values) a dictionary.
+     * Read back with {@code TraceParquetReader}.
+     */
+    KEY_INTERNED
+}
@@ -49,7 +49,39 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleNoDataFoundException(NoDataFoundException ex) {
         log.warn("No data found for request: {}", ex.getMessage());
         ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .header(NoDataFoundException.MARKER_HEADER, "true")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles shard failures of a sharded export that persisted after all retries.
+     */
+    @ExceptionHandler(ShardExportException.class)
+    public ResponseEntity<ErrorResponse> handleShardExportException(ShardExportException ex) {
+        log.error("Sharded export failed: {}", ex.getMessage(), ex.getCause());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_GATEWAY, ex.getMessage(), null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_GATEWAY);
+    }
+
+    /**
+     * Handles exports rejected because the connection pool is saturated.
+     */
+    @ExceptionHandler(ExportRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleExportRejectedException(ExportRejectedException ex) {
+        log.warn("Export rejected: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles on-demand JFR recording requests while another recording is running.
+     */
+    @ExceptionHandler(RecordingInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleRecordingInProgressException(RecordingInProgressException ex) {
+        log.warn("JFR recording rejected: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
     /**
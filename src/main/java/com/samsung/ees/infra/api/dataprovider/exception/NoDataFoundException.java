@@ -5,9 +5,13 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 
 /**
  * Custom exception for cases where no data is found for the given criteria.
+ * The 404 response carries {@link #MARKER_HEADER} so that callers (e.g. the sharded export coordinator) can tell
+ * an empty result apart from a 404 of a wrong path or an instance without the endpoint.
  */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class NoDataFoundException extends RuntimeException {
+    public static final String MARKER_HEADER = "X-No-Data";
+
     public NoDataFoundException(String message) {
         super(message);
     }
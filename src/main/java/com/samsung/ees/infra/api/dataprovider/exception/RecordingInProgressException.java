@@ -0,0 +1,14 @@
+package com.samsung.ees.infra.api.dataprovider.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when an on-demand JFR recording is requested while another one is still running.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RecordingInProgressException extends RuntimeException {
+    public RecordingInProgressException(String message) {
+        super(message);
+    }
+}
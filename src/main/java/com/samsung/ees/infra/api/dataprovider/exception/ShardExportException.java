@@ -0,0 +1,14 @@
+package com.samsung.ees.infra.api.dataprovider.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when a shard of a sharded export could not be produced by any worker after all retries.
+ */
+@ResponseStatus(HttpStatus.BAD_GATEWAY)
+public class ShardExportException extends RuntimeException {
+    public ShardExportException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.samsung.ees.infra.api.dataprovider.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * A TD_FD_TRACE_PARAM row before TRACE_DATA is GZIP-compressed, as produced by data loaders.
+ */
+public record RawTraceData(Long paramIndex, LocalDateTime startTime, LocalDateTime endTime, String rawJson) {
+}
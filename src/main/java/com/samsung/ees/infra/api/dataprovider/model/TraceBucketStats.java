@@ -0,0 +1,11 @@
+package com.samsung.ees.infra.api.dataprovider.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count, stored BLOB size and START_TIME range of the TD_FD_TRACE_PARAM rows of one PARAM_INDEX in one time bucket,
+ * aggregated by the database without fetching the BLOBs.
+ */
+public record TraceBucketStats(Long paramIndex, LocalDateTime bucketStart, long rowCount, long byteSize,
+                               LocalDateTime minStartTime, LocalDateTime maxStartTime) {
+}
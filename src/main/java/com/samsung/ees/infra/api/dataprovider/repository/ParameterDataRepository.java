@@ -1,17 +1,28 @@
 package com.samsung.ees.infra.api.dataprovider.repository;
 
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
 import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import io.r2dbc.spi.Result;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarker;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.r2dbc.core.binding.BindTarget;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.nio.ByteBuffer;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.function.BiFunction;
 
 /**
@@ -22,6 +33,8 @@ import java.util.function.BiFunction;
 @RequiredArgsConstructor
 public class ParameterDataRepository {
     private final DatabaseClient databaseClient;
+    private final ConnectionSchedulingProperties connectionSchedulingProperties;
+    private volatile BindMarkersFactory bindMarkersFactory;
 
     /**
      * 💡 [수정] VARBINARY 타입을 byte[]로 직접 받도록 변경
@@ -73,7 +86,190 @@ public class ParameterDataRepository {
                 .bind("ids", ids)
                 .bind("startTime", startTime)
                 .bind("endTime", endTime)
+                // 💡 대용량 조회 시 라운드트립 수를 줄이기 위한 fetch size 힌트 (0이면 드라이버 기본값)
+                .filter(statement -> connectionSchedulingProperties.getFetchSize() > 0
+                        ? statement.fetchSize(connectionSchedulingProperties.getFetchSize()) : statement)
                 .map(MAPPING_FUNCTION)
                 .all();
     }
+
+    /**
+     * Like {@link #findByIdsAndTimeRange} for several START_TIME ranges (both ends inclusive) in one query,
+     * so the rows of all ranges come back as one stream ordered by PARAM_INDEX, START_TIME.
+     */
+    public Flux<ParameterData> findByIdsAndTimeRanges(List<Long> ids, List<TimeRange> ranges) {
+        if (ids == null || ids.isEmpty() || ranges.isEmpty()) {
+            return Flux.empty();
+        }
+
+        StringJoiner rangeConditions = new StringJoiner("\n                OR ", "(", ")");
+        for (int i = 0; i < ranges.size(); i++) {
+            rangeConditions.add("(dparam.START_TIME >= :startTime%d AND dparam.START_TIME <= :endTime%d)".formatted(i, i));
+        }
+        String sql = """
+            SELECT
+                   dparam.PARAM_INDEX as paramIndex,
+                   dparam.START_TIME as startTime,
+                   dparam.END_TIME as endTime,
+                   dparam.TRACE_DATA as traceData
+              FROM TD_FD_TRACE_PARAM dparam
+             WHERE dparam.PARAM_INDEX IN (:ids)
+               AND %s
+             ORDER BY dparam.PARAM_INDEX, dparam.START_TIME ASC
+            """.formatted(rangeConditions);
+        log.debug("Executing SQL query: {}", sql);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("ids", ids);
+        for (int i = 0; i < ranges.size(); i++) {
+            spec = spec.bind("startTime" + i, ranges.get(i).start())
+                    .bind("endTime" + i, ranges.get(i).end());
+        }
+        return spec
+                .filter(statement -> connectionSchedulingProperties.getFetchSize() > 0
+                        ? statement.fetchSize(connectionSchedulingProperties.getFetchSize()) : statement)
+                .map(MAPPING_FUNCTION)
+                .all();
+    }
+
+    /**
+     * Streams all rows with START_TIME in [startTime, endTime), ordered by PARAM_INDEX, START_TIME.
+     * Used to compact a closed partition into the cold tier.
+     */
+    public Flux<ParameterData> findByTimeRange(LocalDateTime startTime, LocalDateTime endTimeExclusive) {
+        String sql = """
+            SELECT
+                   dparam.PARAM_INDEX as paramIndex,
+                   dparam.START_TIME as startTime,
+                   dparam.END_TIME as endTime,
+                   dparam.TRACE_DATA as traceData
+              FROM TD_FD_TRACE_PARAM dparam
+             WHERE dparam.START_TIME >= :startTime
+               AND dparam.START_TIME < :endTime
+             ORDER BY dparam.PARAM_INDEX, dparam.START_TIME ASC
+            """;
+        log.debug("Executing SQL query: {}", sql);
+
+        return databaseClient.sql(sql)
+                .bind("startTime", startTime)
+                .bind("endTime", endTimeExclusive)
+                .filter(statement -> connectionSchedulingProperties.getFetchSize() > 0
+                        ? statement.fetchSize(connectionSchedulingProperties.getFetchSize()) : statement)
+                .map(MAPPING_FUNCTION)
+                .all();
+    }
+
+    /**
+     * Counts the rows with START_TIME in [startTime, endTime). Reads only the key columns.
+     */
+    public Mono<Long> countByTimeRange(LocalDateTime startTime, LocalDateTime endTimeExclusive) {
+        String sql = """
+            SELECT COUNT(*) as rowCount
+              FROM TD_FD_TRACE_PARAM
+             WHERE START_TIME >= :startTime
+               AND START_TIME < :endTime
+            """;
+        log.debug("Executing SQL query: {}", sql);
+
+        return databaseClient.sql(sql)
+                .bind("startTime", startTime)
+                .bind("endTime", endTimeExclusive)
+                .map((row, rowMetadata) -> row.get("rowCount", Number.class).longValue())
+                .one();
+    }
+
+    /**
+     * Returns the earliest START_TIME in the table, or empty if the table has no rows.
+     */
+    public Mono<LocalDateTime> findMinStartTime() {
+        String sql = "SELECT MIN(START_TIME) as minStartTime FROM TD_FD_TRACE_PARAM";
+        log.debug("Executing SQL query: {}", sql);
+
+        return databaseClient.sql(sql)
+                .map((row, rowMetadata) -> Optional.ofNullable(row.get("minStartTime", LocalDateTime.class)))
+                .one()
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Inserts the rows as one multi-row statement: every row is a binding set added with {@code Statement.add()},
+     * so the driver ships the whole batch in one execution instead of one statement per row.
+     * TRACE_DATA must already be GZIP-compressed.
+     *
+     * @return The number of inserted rows.
+     */
+    public Mono<Long> insertBatch(List<ParameterData> rows) {
+        if (rows.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.inConnection(connection -> {
+            BindMarkers bindMarkers = bindMarkersFactory().create();
+            BindMarker paramIndex = bindMarkers.next("paramIndex");
+            BindMarker startTime = bindMarkers.next("startTime");
+            BindMarker endTime = bindMarkers.next("endTime");
+            BindMarker traceData = bindMarkers.next("traceData");
+            String sql = "INSERT INTO TD_FD_TRACE_PARAM (PARAM_INDEX, START_TIME, END_TIME, TRACE_DATA) VALUES (%s, %s, %s, %s)"
+                    .formatted(paramIndex.getPlaceholder(), startTime.getPlaceholder(), endTime.getPlaceholder(), traceData.getPlaceholder());
+
+            Statement statement = connection.createStatement(sql);
+            StatementBindTarget target = new StatementBindTarget(statement);
+            for (int i = 0; i < rows.size(); i++) {
+                if (i > 0) {
+                    statement.add(); // 이전 행의 바인딩을 저장하고 다음 행의 바인딩 세트를 시작
+                }
+                ParameterData row = rows.get(i);
+                bind(target, paramIndex, row.getParamIndex(), Long.class);
+                bind(target, startTime, row.getStartTime(), LocalDateTime.class);
+                bind(target, endTime, row.getEndTime(), LocalDateTime.class);
+                bind(target, traceData, row.getTraceData(), byte[].class);
+            }
+            return Flux.from(statement.execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    private BindMarkersFactory bindMarkersFactory() {
+        BindMarkersFactory factory = bindMarkersFactory;
+        if (factory == null) {
+            factory = BindMarkersFactoryResolver.resolve(databaseClient.getConnectionFactory());
+            bindMarkersFactory = factory;
+        }
+        return factory;
+    }
+
+    private static void bind(BindTarget target, BindMarker marker, Object value, Class<?> type) {
+        if (value == null) {
+            marker.bindNull(target, type);
+        } else {
+            marker.bind(target, value);
+        }
+    }
+
+    /**
+     * START_TIME range with both ends inclusive.
+     */
+    public record TimeRange(LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record StatementBindTarget(Statement statement) implements BindTarget {
+        @Override
+        public void bind(String identifier, Object value) {
+            statement.bind(identifier, value);
+        }
+
+        @Override
+        public void bind(int index, Object value) {
+            statement.bind(index, value);
+        }
+
+        @Override
+        public void bindNull(String identifier, Class<?> type) {
+            statement.bindNull(identifier, type);
+        }
+
+        @Override
+        public void bindNull(int index, Class<?> type) {
+            statement.bindNull(index, type);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package com.samsung.ees.infra.api.dataprovider.repository;
+
+import com.samsung.ees.infra.api.dataprovider.config.StatsProperties;
+import com.samsung.ees.infra.api.dataprovider.model.TraceBucketStats;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Repository for the lightweight key/size scans that feed the statistics index.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ParameterStatsRepository {
+    private final DatabaseClient databaseClient;
+    private final StatsProperties statsProperties;
+
+    /**
+     * Aggregates row counts and BLOB sizes per PARAM_INDEX and time bucket in the database, over all rows or over rows
+     * after the given START_TIME when {@code after} is set. Only one row per (parameter, bucket) reaches the JVM.
+     */
+    public Flux<TraceBucketStats> findBucketStats(LocalDateTime after) {
+        long bucketSeconds = Math.max(1, statsProperties.getBucketDuration().toSeconds());
+        // 버킷 폭은 설정값(정수)이므로 바인딩 대신 SQL에 직접 넣어 SELECT/GROUP BY 식을 동일하게 유지
+        String bucket = "FLOOR((%s) / %d)".formatted(statsProperties.getEpochSecondsExpression(), bucketSeconds);
+        String sql = """
+            SELECT
+                   PARAM_INDEX as paramIndex,
+                   %1$s as bucket,
+                   COUNT(*) as rowCount,
+                   SUM(%2$s) as byteSize,
+                   MIN(START_TIME) as minStartTime,
+                   MAX(START_TIME) as maxStartTime
+              FROM TD_FD_TRACE_PARAM
+             WHERE START_TIME IS NOT NULL
+            %3$s GROUP BY PARAM_INDEX, %1$s
+            """.formatted(bucket, statsProperties.getSizeExpression(), after == null ? "" : "   AND START_TIME > :after\n");
+        log.debug("Executing SQL query: {}", sql);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        if (after != null) {
+            spec = spec.bind("after", after);
+        }
+        return spec.map((row, rowMetadata) -> toBucketStats(row, rowMetadata, bucketSeconds)).all();
+    }
+
+    /**
+     * Returns which of the given indices have at least one row in [startTime, endTime].
+     * Reads only the primary key, so it stays cheap even when the range holds many BLOBs.
+     */
+    public Flux<Long> findParameterIndicesWithRows(List<Long> ids, LocalDateTime startTime, LocalDateTime endTime) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        String sql = """
+            SELECT DISTINCT PARAM_INDEX as paramIndex
+              FROM TD_FD_TRACE_PARAM
+             WHERE PARAM_INDEX IN (:ids)
+               AND START_TIME >= :startTime
+               AND START_TIME <= :endTime
+            """;
+        log.debug("Executing SQL query: {}", sql);
+
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .bind("startTime", startTime)
+                .bind("endTime", endTime)
+                .map((row, rowMetadata) -> row.get("paramIndex", Number.class).longValue())
+                .all();
+    }
+
+    /**
+     * Returns which parameters have at least one row in any of the given (PARAM_INDEX, START_TIME range) pairs.
+     * Like {@link #findParameterIndicesWithRows(List, LocalDateTime, LocalDateTime)} it reads only the primary key.
+     */
+    public Flux<Long> findParameterIndicesWithRowsInRanges(List<ParameterRange> ranges) {
+        if (ranges == null || ranges.isEmpty()) {
+            return Flux.empty();
+        }
+        StringJoiner rangeConditions = new StringJoiner("\n                OR ");
+        for (int i = 0; i < ranges.size(); i++) {
+            rangeConditions.add("(PARAM_INDEX = :paramIndex%d AND START_TIME >= :startTime%d AND START_TIME <= :endTime%d)"
+                    .formatted(i, i, i));
+        }
+        String sql = """
+            SELECT DISTINCT PARAM_INDEX as paramIndex
+              FROM TD_FD_TRACE_PARAM
+             WHERE %s
+            """.formatted(rangeConditions);
+        log.debug("Executing SQL query: {}", sql);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql);
+        for (int i = 0; i < ranges.size(); i++) {
+            spec = spec.bind("paramIndex" + i, ranges.get(i).paramIndex())
+                    .bind("startTime" + i, ranges.get(i).start())
+                    .bind("endTime" + i, ranges.get(i).end());
+        }
+        return spec.map((row, rowMetadata) -> row.get("paramIndex", Number.class).longValue()).all();
+    }
+
+    private static TraceBucketStats toBucketStats(Row row, RowMetadata rowMetadata, long bucketSeconds) {
+        Number paramIndexNumber = row.get("paramIndex", Number.class);
+        Number bucketNumber = row.get("bucket", Number.class);
+        Number rowCountNumber = row.get("rowCount", Number.class);
+        Number byteSizeNumber = row.get("byteSize", Number.class);
+        return new TraceBucketStats(
+                (paramIndexNumber != null) ? paramIndexNumber.longValue() : null,
+                LocalDateTime.ofEpochSecond(bucketNumber.longValue() * bucketSeconds, 0, ZoneOffset.UTC),
+                (rowCountNumber != null) ? rowCountNumber.longValue() : 0L,
+                (byteSizeNumber != null) ? byteSizeNumber.longValue() : 0L,
+                row.get("minStartTime", LocalDateTime.class),
+                row.get("maxStartTime", LocalDateTime.class)
+        );
+    }
+
+    /**
+     * START_TIME range of one parameter; both bounds are inclusive.
+     */
+    public record ParameterRange(Long paramIndex, LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+/**
+ * Scheduling class of an export with respect to database connection usage.
+ */
+public enum ExportPriority {
+    /** Small request expected to finish quickly; may use the connections reserved for interactive traffic. */
+    INTERACTIVE,
+    /** Large export; limited to the pool capacity minus the interactive reserve. */
+    BULK
+}
@@ -0,0 +1,183 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.ResultCacheProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of finished exports.
+ * Each entry keeps the Parquet bytes plus any pre-compressed variants that were served from it,
+ * so a cache hit with Accept-Encoding does not recompress. Variants count against the size limit.
+ */
+@Slf4j
+@Service
+public class ExportResultCache {
+    private final ResultCacheProperties properties;
+    private final Clock clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    @Autowired
+    public ExportResultCache(ResultCacheProperties properties) {
+        // START_TIME은 DB의 로컬 시각(LocalDateTime)이므로 같은 시간대로 비교
+        this(properties, Clock.systemDefaultZone());
+    }
+
+    ExportResultCache(ResultCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public Optional<Entry> get(DataExportRequest request) {
+        if (!properties.isEnabled()) {
+            return Optional.empty();
+        }
+        Key key = Key.of(request);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (isExpired(entry)) {
+                remove(key);
+                return Optional.empty();
+            }
+            log.debug("Export result cache hit for {}", key);
+            return Optional.of(entry);
+        }
+    }
+
+    /**
+     * Whether the result of the request can no longer change: its range ends before now minus
+     * {@link ResultCacheProperties#getImmutableAfter()}, so rows still being ingested cannot land in it.
+     */
+    public boolean isImmutable(DataExportRequest request) {
+        return request.getEndTime().isBefore(LocalDateTime.now(clock).minus(properties.getImmutableAfter()));
+    }
+
+    /**
+     * Wraps the result in an entry and stores it if caching is enabled and the result fits.
+     * The returned entry can be used for encoding either way.
+     */
+    public Entry put(DataExportRequest request, byte[] parquetBytes, boolean cacheable) {
+        Entry entry = new Entry(this, parquetBytes, clock.instant());
+        if (!properties.isEnabled() || !cacheable || parquetBytes.length == 0
+                || parquetBytes.length > properties.getMaxEntrySize().toBytes()) {
+            return entry;
+        }
+        Key key = Key.of(request);
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            entry.key = key;
+            totalBytes += entry.weight;
+            evict();
+        }
+        return entry;
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void onVariantAdded(Entry entry, int bytes) {
+        if (entry.key != null && entries.get(entry.key) == entry) {
+            totalBytes += bytes;
+            evict();
+        }
+    }
+
+    private boolean isExpired(Entry entry) {
+        return entry.createdAt.plus(properties.getTtl()).isBefore(clock.instant());
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.weight;
+            removed.key = null;
+        }
+    }
+
+    private void evict() {
+        long maxBytes = properties.getMaxSize().toBytes();
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, Entry> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue().weight;
+            eldest.getValue().key = null;
+            log.debug("Evicted export result {} from cache.", eldest.getKey());
+        }
+    }
+
+    /**
+     * A cached export result and its encoded variants.
+     */
+    public static final class Entry {
+        private final ExportResultCache owner;
+        private final byte[] parquetBytes;
+        private final Instant createdAt;
+        private final Map<ContentEncoding, byte[]> variants = new EnumMap<>(ContentEncoding.class);
+        private Key key;
+        private volatile long weight;
+
+        private Entry(ExportResultCache owner, byte[] parquetBytes, Instant createdAt) {
+            this.owner = owner;
+            this.parquetBytes = parquetBytes;
+            this.createdAt = createdAt;
+            this.weight = parquetBytes.length;
+        }
+
+        public byte[] parquetBytes() {
+            return parquetBytes;
+        }
+
+        /**
+         * Returns the result encoded with the given coding, encoding it at most once per entry.
+         */
+        public byte[] encoded(ContentEncoding encoding, Function<byte[], byte[]> encoder) {
+            if (encoding == ContentEncoding.IDENTITY) {
+                return parquetBytes;
+            }
+            byte[] variant;
+            synchronized (this) {
+                variant = variants.get(encoding);
+                if (variant != null) {
+                    return variant;
+                }
+                variant = encoder.apply(parquetBytes);
+                variants.put(encoding, variant);
+                weight += variant.length;
+            }
+            owner.onVariantAdded(this, variant.length);
+            return variant;
+        }
+    }
+
+    private record Key(List<Long> parameterIndices, LocalDateTime startTime, LocalDateTime endTime, TraceEncoding traceEncoding) {
+        static Key of(DataExportRequest request) {
+            return new Key(request.getParameterIndices().stream().distinct().sorted().toList(),
+                    request.getStartTime(), request.getEndTime(), request.getTraceEncoding());
+        }
+    }
+}
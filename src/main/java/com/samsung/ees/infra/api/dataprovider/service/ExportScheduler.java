@@ -0,0 +1,212 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.exception.ExportRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pool-aware admission control for the queries of this service.
+ * Hands out at most one permit per pooled connection; bulk exports are capped at the pool size minus
+ * {@code reservedForInteractive}, so small interactive requests always find a free connection.
+ * That holds only because every runtime query on the pool takes a permit: exports and shard workers, the stats index
+ * refresh (bulk) and its key-only confirm queries (interactive), and the cold tier compaction (bulk). Only the local
+ * sample/synthetic data seeding of {@code DataInitializer} bypasses it. New queries must take a permit as well.
+ * Waiting is non-blocking: callers are parked as {@link Sinks.One} and resumed on release, interactive first.
+ */
+@Slf4j
+@Service
+public class ExportScheduler {
+    private final ConnectionSchedulingProperties properties;
+    private final int capacity;
+    private final int bulkLimit;
+
+    private final Object lock = new Object();
+    private final Map<ExportPriority, Integer> active = new EnumMap<>(ExportPriority.class);
+    private final Map<ExportPriority, Deque<Waiter>> pending = new EnumMap<>(ExportPriority.class);
+    private final Map<ExportPriority, Counter> rejected = new EnumMap<>(ExportPriority.class);
+
+    @Autowired
+    public ExportScheduler(ConnectionSchedulingProperties properties, R2dbcProperties r2dbcProperties, MeterRegistry meterRegistry) {
+        this(properties, r2dbcProperties.getPool().getMaxSize(), meterRegistry);
+    }
+
+    public ExportScheduler(ConnectionSchedulingProperties properties, int capacity, MeterRegistry meterRegistry) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Connection capacity must be at least 1.");
+        }
+        this.properties = properties;
+        this.capacity = capacity;
+        this.bulkLimit = Math.max(1, capacity - Math.max(0, properties.getReservedForInteractive()));
+
+        for (ExportPriority priority : ExportPriority.values()) {
+            String tag = priority.name().toLowerCase();
+            active.put(priority, 0);
+            pending.put(priority, new ArrayDeque<>());
+            Gauge.builder("export.connections.active", this, s -> s.activeCount(priority))
+                    .tag("priority", tag).description("Connection permits held by running exports").register(meterRegistry);
+            Gauge.builder("export.connections.pending", this, s -> s.pendingCount(priority))
+                    .tag("priority", tag).description("Exports waiting for a connection permit").register(meterRegistry);
+            rejected.put(priority, Counter.builder("export.connections.rejected")
+                    .tag("priority", tag).description("Exports rejected due to pool saturation").register(meterRegistry));
+        }
+        log.info("Export scheduler initialized: {} connection permits, {} available to bulk exports.", capacity, bulkLimit);
+    }
+
+    /**
+     * Classifies an export from its statistics estimate. Without an estimate the export is treated as bulk.
+     */
+    public ExportPriority classify(Optional<ExportEstimate> estimate) {
+        return estimate
+                .filter(e -> e.estimatedRows() <= properties.getInteractiveMaxRows())
+                .map(e -> ExportPriority.INTERACTIVE)
+                .orElse(ExportPriority.BULK);
+    }
+
+    /**
+     * Runs the given query flux while holding a connection permit of the given priority.
+     * The permit is released as soon as the flux terminates or is cancelled.
+     */
+    public <T> Flux<T> withConnectionPermit(ExportPriority priority, Flux<T> query) {
+        return Flux.usingWhen(acquire(priority),
+                permit -> query,
+                Permit::release,
+                (permit, error) -> permit.release(),
+                Permit::release);
+    }
+
+    Mono<Permit> acquire(ExportPriority priority) {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (lock) {
+                if (canGrant(priority)) {
+                    return Mono.just(grant(priority));
+                }
+                Deque<Waiter> queue = pending.get(priority);
+                if (queue.size() >= properties.getMaxPending()) {
+                    rejected.get(priority).increment();
+                    return Mono.error(new ExportRejectedException("Too many exports waiting for a database connection."));
+                }
+                waiter = new Waiter(priority);
+                queue.addLast(waiter);
+            }
+
+            log.debug("No connection permit available for {} export; queued.", priority);
+            AtomicBoolean delivered = new AtomicBoolean();
+            return waiter.sink.asMono()
+                    .doOnNext(permit -> delivered.set(true))
+                    .timeout(properties.getAcquireTimeout())
+                    .onErrorMap(TimeoutException.class, e -> {
+                        abandon(waiter);
+                        rejected.get(priority).increment();
+                        return new ExportRejectedException("Timed out waiting for a database connection.");
+                    })
+                    .doOnCancel(() -> {
+                        if (!delivered.get()) {
+                            abandon(waiter);
+                        }
+                    });
+        });
+    }
+
+    int activeCount(ExportPriority priority) {
+        synchronized (lock) {
+            return active.get(priority);
+        }
+    }
+
+    int pendingCount(ExportPriority priority) {
+        synchronized (lock) {
+            return pending.get(priority).size();
+        }
+    }
+
+    private boolean canGrant(ExportPriority priority) {
+        int total = active.get(ExportPriority.INTERACTIVE) + active.get(ExportPriority.BULK);
+        if (total >= capacity) {
+            return false;
+        }
+        return priority == ExportPriority.INTERACTIVE || active.get(ExportPriority.BULK) < bulkLimit;
+    }
+
+    private Permit grant(ExportPriority priority) {
+        active.merge(priority, 1, Integer::sum);
+        return new Permit(priority);
+    }
+
+    private void abandon(Waiter waiter) {
+        Permit granted;
+        synchronized (lock) {
+            if (pending.get(waiter.priority).remove(waiter)) {
+                return;
+            }
+            granted = waiter.permit;
+        }
+        // 대기 중 타임아웃/취소와 허가 발급이 경합한 경우, 전달되지 못한 허가를 반납
+        if (granted != null) {
+            granted.release().subscribe();
+        }
+    }
+
+    private void releasePermit(Permit permit) {
+        Waiter next = null;
+        synchronized (lock) {
+            active.merge(permit.priority, -1, Integer::sum);
+            for (ExportPriority priority : ExportPriority.values()) {
+                Deque<Waiter> queue = pending.get(priority);
+                if (!queue.isEmpty() && canGrant(priority)) {
+                    next = queue.pollFirst();
+                    next.permit = grant(priority);
+                    break;
+                }
+            }
+        }
+        if (next != null) {
+            next.sink.tryEmitValue(next.permit);
+        }
+    }
+
+    final class Permit {
+        private final ExportPriority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ExportPriority priority) {
+            this.priority = priority;
+        }
+
+        Mono<Void> release() {
+            return Mono.fromRunnable(() -> {
+                if (released.compareAndSet(false, true)) {
+                    releasePermit(this);
+                }
+            });
+        }
+    }
+
+    private final class Waiter {
+        private final ExportPriority priority;
+        private final Sinks.One<Permit> sink = Sinks.one();
+        private Permit permit;
+
+        private Waiter(ExportPriority priority) {
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import com.samsung.ees.infra.api.dataprovider.util.TraceParquetReader;
+import com.samsung.ees.infra.api.dataprovider.util.TraceParquetReader.Kind;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Types;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Writes {@link ParameterData} rows in the {@link com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding#KEY_INTERNED} layout.
+ * Payloads are parsed once while rows are added, which builds the per-file key dictionary and settles the value kind
+ * of every key; the file is then written with one typed column per key inside a {@code trace} group:
+ * <ul>
+ *   <li>integers: INT64, DELTA_BINARY_PACKED</li>
+ *   <li>decimals: DOUBLE, BYTE_STREAM_SPLIT</li>
+ *   <li>integers mixed with decimals: both columns, each row filling the one matching its value, so integers above
+ *       2^53 stay exact and decimals such as {@code 45.0} keep their decimal form</li>
+ *   <li>strings such as status values: dictionary-encoded BINARY, so each distinct value is stored once per column chunk</li>
+ *   <li>booleans: BOOLEAN; mixed, null or nested values: JSON text</li>
+ * </ul>
+ * The key dictionary goes into the footer. Payloads that are not a flat JSON object are kept verbatim in
+ * {@code traceDataRaw}, so every row round-trips through {@link TraceParquetReader}.
+ */
+class KeyInternedTraceWriter {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern SAFE_COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]{0,63}");
+    private static final Set<String> RESERVED_COLUMNS = Set.of("paramIndex", "startTime", "endTime",
+            TraceParquetReader.TRACE_GROUP, TraceParquetReader.RAW_COLUMN);
+
+    private final Map<String, KeyState> keys = new LinkedHashMap<>();
+    private final List<ParsedTrace> rows = new ArrayList<>();
+
+    /**
+     * Decompresses and parses the row's payload and adds it to the file.
+     */
+    void add(ParameterData data) {
+        byte[] json;
+        try (ExportUsage.Span span = ExportUsage.nested(ExportStage.DECOMPRESS)) {
+            json = GzipUtil.gzipDecompress(data.getTraceData());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Data transformation failed for paramIndex " + data.getParamIndex(), e);
+        }
+        List<Field> fields = parseFlatObject(json);
+        if (fields == null) {
+            rows.add(new ParsedTrace(data, null, new String(json, StandardCharsets.UTF_8)));
+            return;
+        }
+        Object[] values = new Object[keys.size() + fields.size()];
+        for (Field field : fields) {
+            KeyState key = keys.computeIfAbsent(field.name(), name -> new KeyState(name, keys.size()));
+            key.observe(field.kind());
+            values[key.id] = field.value();
+        }
+        rows.add(new ParsedTrace(data, values, null));
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    void writeTo(OutputFile file) throws IOException {
+        List<KeyState> columns = assignColumnNames();
+        MessageType schema = schema(columns);
+        Map<String, String> metadata = Map.of(
+                TraceParquetReader.ENCODING_METADATA_KEY, TraceParquetReader.KEY_INTERNED,
+                TraceParquetReader.KEYS_METADATA_KEY, MAPPER.writeValueAsString(columns.stream()
+                        .map(k -> new TraceParquetReader.KeyColumn(k.name, k.column, k.kind, k.integerColumn)).toList()));
+
+        Configuration conf = new Configuration();
+        conf.set("fs.file.impl.disable.cache", "true");
+        Builder builder = new Builder(file, new TraceWriteSupport(schema, metadata, columns))
+                .withConf(conf)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                // 💡 V2 writer: 사전 인코딩을 끈 INT64 컬럼은 DELTA_BINARY_PACKED, DOUBLE 컬럼은 BYTE_STREAM_SPLIT로 기록
+                .withWriterVersion(ParquetProperties.WriterVersion.PARQUET_2_0)
+                .withByteStreamSplitEncoding(true)
+                .withDictionaryEncoding(true)
+                .withDictionaryEncoding("startTime", false)
+                .withDictionaryEncoding("endTime", false);
+        for (KeyState key : columns) {
+            if (key.kind == Kind.LONG || key.kind == Kind.DOUBLE || key.kind == Kind.NUMBER) {
+                builder.withDictionaryEncoding(TraceParquetReader.TRACE_GROUP + "." + key.column, false);
+            }
+            if (key.integerColumn != null) {
+                builder.withDictionaryEncoding(TraceParquetReader.TRACE_GROUP + "." + key.integerColumn, false);
+            }
+        }
+        try (ParquetWriter<ParsedTrace> writer = builder.build()) {
+            for (ParsedTrace row : rows) {
+                writer.write(row);
+            }
+        }
+    }
+
+    /**
+     * Parses a flat JSON object into its fields, or returns null if the payload is anything else
+     * (not an object, malformed, duplicate keys, trailing content).
+     */
+    private static List<Field> parseFlatObject(byte[] json) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            List<Field> fields = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                if (!names.add(name)) {
+                    return null;
+                }
+                fields.add(readValue(parser, name, parser.nextToken()));
+            }
+            if (token != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return null;
+            }
+            return fields;
+        } catch (JsonProcessingException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Field readValue(JsonParser parser, String name, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                    ? new Field(name, new JsonText(parser.getText()), Kind.JSON)
+                    : new Field(name, parser.getLongValue(), Kind.LONG);
+            case VALUE_NUMBER_FLOAT -> {
+                double value = parser.getDoubleValue();
+                yield Double.isFinite(value) ? new Field(name, value, Kind.DOUBLE)
+                        : new Field(name, new JsonText(parser.getText()), Kind.JSON);
+            }
+            case VALUE_STRING -> new Field(name, parser.getText(), Kind.STRING);
+            case VALUE_TRUE, VALUE_FALSE -> new Field(name, parser.getBooleanValue(), Kind.BOOLEAN);
+            case VALUE_NULL -> new Field(name, new JsonText("null"), Kind.JSON);
+            case START_OBJECT, START_ARRAY -> new Field(name, new JsonText(MAPPER.readTree(parser).toString()), Kind.JSON);
+            default -> throw new JsonProcessingException("Unexpected token " + token) { };
+        };
+    }
+
+    private List<KeyState> assignColumnNames() {
+        List<KeyState> columns = new ArrayList<>(keys.values());
+        Set<String> used = new HashSet<>(RESERVED_COLUMNS);
+        for (KeyState key : columns) {
+            if (SAFE_COLUMN_NAME.matcher(key.name).matches() && !used.contains(key.name)) {
+                key.column = key.name;
+                used.add(key.name);
+            }
+        }
+        // Parquet 컬럼명으로 쓸 수 없는 키(공백, '.', 중복 등)는 위치 기반 이름을 사용 (원래 키는 footer 사전에 기록)
+        for (KeyState key : columns) {
+            if (key.column == null) {
+                String column = "k" + key.id;
+                while (used.contains(column)) {
+                    column = "_" + column;
+                }
+                key.column = column;
+                used.add(column);
+            }
+        }
+        // 정수/실수가 섞인 키는 정수 값을 별도 INT64 컬럼에 저장
+        for (KeyState key : columns) {
+            if (key.kind == Kind.NUMBER) {
+                String column = key.column + "_int";
+                while (used.contains(column)) {
+                    column = "_" + column;
+                }
+                key.integerColumn = column;
+                used.add(column);
+            }
+        }
+        return columns;
+    }
+
+    private static MessageType schema(List<KeyState> columns) {
+        Types.MessageTypeBuilder message = Types.buildMessage();
+        message.required(PrimitiveTypeName.INT64).named("paramIndex");
+        message.required(PrimitiveTypeName.INT64)
+                .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS)).named("startTime");
+        message.required(PrimitiveTypeName.INT64)
+                .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS)).named("endTime");
+        if (!columns.isEmpty()) {
+            Types.GroupBuilder<Types.GroupBuilder<MessageType>> trace = message.optionalGroup();
+            int fieldIndex = 0;
+            for (KeyState key : columns) {
+                key.fieldIndex = fieldIndex++;
+                switch (key.kind) {
+                    case LONG -> trace.optional(PrimitiveTypeName.INT64).named(key.column);
+                    case DOUBLE -> trace.optional(PrimitiveTypeName.DOUBLE).named(key.column);
+                    case NUMBER -> {
+                        trace.optional(PrimitiveTypeName.DOUBLE).named(key.column);
+                        key.integerFieldIndex = fieldIndex++;
+                        trace.optional(PrimitiveTypeName.INT64).named(key.integerColumn);
+                    }
+                    case BOOLEAN -> trace.optional(PrimitiveTypeName.BOOLEAN).named(key.column);
+                    case STRING -> trace.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(key.column);
+                    case JSON -> trace.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.jsonType()).named(key.column);
+                }
+            }
+            trace.named(TraceParquetReader.TRACE_GROUP);
+        }
+        message.optional(PrimitiveTypeName.BINARY).as(LogicalTypeAnnotation.stringType()).named(TraceParquetReader.RAW_COLUMN);
+        return message.named("ParameterRecord");
+    }
+
+    private record Field(String name, Object value, Kind kind) {
+    }
+
+    private record JsonText(String json) {
+    }
+
+    private record ParsedTrace(ParameterData data, Object[] values, String raw) {
+    }
+
+    private static final class KeyState {
+        private final String name;
+        private final int id;
+        private Kind kind;
+        private String column;
+        private String integerColumn;
+        private int fieldIndex;
+        private int integerFieldIndex;
+
+        KeyState(String name, int id) {
+            this.name = name;
+            this.id = id;
+        }
+
+        void observe(Kind observed) {
+            if (kind == null || kind == observed) {
+                kind = observed;
+            } else if (isNumber(kind) && isNumber(observed)) {
+                kind = Kind.NUMBER;
+            } else {
+                kind = Kind.JSON;
+            }
+        }
+
+        private static boolean isNumber(Kind kind) {
+            return kind == Kind.LONG || kind == Kind.DOUBLE || kind == Kind.NUMBER;
+        }
+    }
+
+    private static final class TraceWriteSupport extends WriteSupport<ParsedTrace> {
+        private final MessageType schema;
+        private final Map<String, String> metadata;
+        private final List<KeyState> columns;
+        private final int traceField;
+        private final int rawField;
+        private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+        private RecordConsumer recordConsumer;
+
+        TraceWriteSupport(MessageType schema, Map<String, String> metadata, List<KeyState> columns) {
+            this.schema = schema;
+            this.metadata = metadata;
+            this.columns = columns;
+            this.traceField = columns.isEmpty() ? -1 : schema.getFieldIndex(TraceParquetReader.TRACE_GROUP);
+            this.rawField = schema.getFieldIndex(TraceParquetReader.RAW_COLUMN);
+        }
+
+        @Override
+        public WriteContext init(Configuration configuration) {
+            return new WriteContext(schema, metadata);
+        }
+
+        @Override
+        public void prepareForWrite(RecordConsumer recordConsumer) {
+            this.recordConsumer = recordConsumer;
+        }
+
+        @Override
+        public void write(ParsedTrace row) {
+            ParameterData data = row.data();
+            recordConsumer.startMessage();
+            writeLong("paramIndex", 0, data.getParamIndex());
+            writeLong("startTime", 1, ParameterRecordWriteSupport.toEpochMillis(zoneRules, data.getStartTime()));
+            writeLong("endTime", 2, ParameterRecordWriteSupport.toEpochMillis(zoneRules, data.getEndTime()));
+            if (row.raw() != null) {
+                recordConsumer.startField(TraceParquetReader.RAW_COLUMN, rawField);
+                recordConsumer.addBinary(Binary.fromString(row.raw()));
+                recordConsumer.endField(TraceParquetReader.RAW_COLUMN, rawField);
+            } else if (traceField >= 0) {
+                recordConsumer.startField(TraceParquetReader.TRACE_GROUP, traceField);
+                recordConsumer.startGroup();
+                Object[] values = row.values();
+                for (KeyState key : columns) {
+                    Object value = key.id < values.length ? values[key.id] : null;
+                    if (value == null) {
+                        continue;
+                    }
+                    if (key.kind == Kind.NUMBER && value instanceof Long) {
+                        recordConsumer.startField(key.integerColumn, key.integerFieldIndex);
+                        recordConsumer.addLong((Long) value);
+                        recordConsumer.endField(key.integerColumn, key.integerFieldIndex);
+                    } else {
+                        recordConsumer.startField(key.column, key.fieldIndex);
+                        addValue(key.kind, value);
+                        recordConsumer.endField(key.column, key.fieldIndex);
+                    }
+                }
+                recordConsumer.endGroup();
+                recordConsumer.endField(TraceParquetReader.TRACE_GROUP, traceField);
+            }
+            recordConsumer.endMessage();
+        }
+
+        private void addValue(Kind kind, Object value) {
+            switch (kind) {
+                case LONG -> recordConsumer.addLong((Long) value);
+                case DOUBLE, NUMBER -> recordConsumer.addDouble((Double) value);
+                case BOOLEAN -> recordConsumer.addBoolean((Boolean) value);
+                case STRING -> recordConsumer.addBinary(Binary.fromString((String) value));
+                case JSON -> recordConsumer.addBinary(Binary.fromString(toJsonText(value)));
+            }
+        }
+
+        private static String toJsonText(Object value) {
+            if (value instanceof JsonText text) {
+                return text.json();
+            }
+            try {
+                return MAPPER.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeLong(String name, int index, long value) {
+            recordConsumer.startField(name, index);
+            recordConsumer.addLong(value);
+            recordConsumer.endField(name, index);
+        }
+    }
+
+    private static final class Builder extends ParquetWriter.Builder<ParsedTrace, Builder> {
+        private final TraceWriteSupport writeSupport;
+
+        private Builder(OutputFile file, TraceWriteSupport writeSupport) {
+            super(file);
+            this.writeSupport = writeSupport;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<ParsedTrace> getWriteSupport(Configuration conf) {
+            return writeSupport;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parquet {@link WriteSupport} that writes {@link ParameterData} rows straight to the column writers.
+ * Replaces the AvroParquetWriter + GenericRecord path: no intermediate record, no field lookup by name,
+ * no boxing of the long columns, and the decompressed JSON bytes are written as-is instead of being
+ * decoded to a String and re-encoded to UTF-8.
+ * The file schema and the {@code parquet.avro.schema} footer entry are the same as the Avro writer produces,
+ * so files stay readable with AvroParquetReader.
+ * With {@code compressedTraceData} off, TRACE_DATA is taken as already-decompressed JSON (e.g. rows read back from the cold tier).
+ * With {@code microsecondTimestamps} on, the timestamp columns are written as {@code timestamp-micros} instead of
+ * {@code timestamp-millis}, for files that must keep the full precision of the database (the cold tier).
+ */
+public class ParameterRecordWriteSupport extends WriteSupport<ParameterData> {
+    private static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+    private static final String WRITER_MODEL_METADATA_KEY = "writer.model.name";
+
+    private final Schema avroSchema;
+    private final MessageType messageType;
+    private final int paramIndexField;
+    private final int startTimeField;
+    private final int endTimeField;
+    private final int traceDataField;
+    private final boolean compressedTraceData;
+    private final boolean microsecondTimestamps;
+    private final ZoneRules zoneRules = ZoneId.systemDefault().getRules();
+
+    private RecordConsumer recordConsumer;
+
+    ParameterRecordWriteSupport(Schema avroSchema, boolean compressedTraceData, boolean microsecondTimestamps) {
+        this.avroSchema = microsecondTimestamps ? withMicrosecondTimestamps(avroSchema) : avroSchema;
+        this.compressedTraceData = compressedTraceData;
+        this.microsecondTimestamps = microsecondTimestamps;
+        this.messageType = new AvroSchemaConverter().convert(this.avroSchema);
+        this.paramIndexField = messageType.getFieldIndex("paramIndex");
+        this.startTimeField = messageType.getFieldIndex("startTime");
+        this.endTimeField = messageType.getFieldIndex("endTime");
+        this.traceDataField = messageType.getFieldIndex("traceData");
+    }
+
+    public static Builder builder(OutputFile file, Schema avroSchema) {
+        return new Builder(file, avroSchema);
+    }
+
+    @Override
+    public String getName() {
+        return "avro";
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return new WriteContext(messageType, Map.of(
+                AVRO_SCHEMA_METADATA_KEY, avroSchema.toString(),
+                WRITER_MODEL_METADATA_KEY, getName()));
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(ParameterData data) {
+        byte[] traceData = compressedTraceData ? decompress(data) : data.getTraceData();
+
+        recordConsumer.startMessage();
+        writeLong("paramIndex", paramIndexField, data.getParamIndex());
+        writeLong("startTime", startTimeField, toTimestamp(data.getStartTime()));
+        writeLong("endTime", endTimeField, toTimestamp(data.getEndTime()));
+        recordConsumer.startField("traceData", traceDataField);
+        recordConsumer.addBinary(Binary.fromConstantByteArray(traceData));
+        recordConsumer.endField("traceData", traceDataField);
+        recordConsumer.endMessage();
+    }
+
+    private byte[] decompress(ParameterData data) {
+        try (ExportUsage.Span span = ExportUsage.nested(ExportStage.DECOMPRESS)) {
+            return GzipUtil.gzipDecompress(data.getTraceData());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Data transformation failed for paramIndex " + data.getParamIndex(), e);
+        }
+    }
+
+    private long toTimestamp(LocalDateTime dateTime) {
+        return microsecondTimestamps ? toEpochMicros(zoneRules, dateTime) : toEpochMillis(zoneRules, dateTime);
+    }
+
+    private void writeLong(String name, int index, long value) {
+        recordConsumer.startField(name, index);
+        recordConsumer.addLong(value);
+        recordConsumer.endField(name, index);
+    }
+
+    // java.sql.Timestamp.valueOf(dateTime).getTime()과 동일하게 시스템 기본 타임존 기준으로 변환 (Timestamp 객체 생성 없이)
+    static long toEpochMillis(ZoneRules zoneRules, LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(zoneRules.getOffset(dateTime)) * 1000L + dateTime.getNano() / 1_000_000;
+    }
+
+    public static long toEpochMicros(ZoneRules zoneRules, LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(zoneRules.getOffset(dateTime)) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    // timestamp-millis 필드만 timestamp-micros로 바꾼 스키마 (필드 순서/이름은 동일)
+    private static Schema withMicrosecondTimestamps(Schema schema) {
+        List<Schema.Field> fields = schema.getFields().stream()
+                .map(field -> field.schema().getLogicalType() instanceof LogicalTypes.TimestampMillis
+                        ? new Schema.Field(field, LogicalTypes.timestampMicros().addToSchema(Schema.create(Schema.Type.LONG)))
+                        : new Schema.Field(field, field.schema()))
+                .toList();
+        return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), schema.isError(), fields);
+    }
+
+    public static class Builder extends ParquetWriter.Builder<ParameterData, Builder> {
+        private final Schema avroSchema;
+        private boolean compressedTraceData = true;
+        private boolean microsecondTimestamps;
+
+        private Builder(OutputFile file, Schema avroSchema) {
+            super(file);
+            this.avroSchema = avroSchema;
+        }
+
+        /**
+         * Whether TRACE_DATA of the written rows is GZIP-compressed (as stored in the DB). Defaults to true.
+         */
+        public Builder withCompressedTraceData(boolean compressedTraceData) {
+            this.compressedTraceData = compressedTraceData;
+            return this;
+        }
+
+        /**
+         * Whether START_TIME / END_TIME are written as {@code timestamp-micros}. Defaults to false (milliseconds).
+         */
+        public Builder withMicrosecondTimestamps(boolean microsecondTimestamps) {
+            this.microsecondTimestamps = microsecondTimestamps;
+            return this;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<ParameterData> getWriteSupport(Configuration conf) {
+            return new ParameterRecordWriteSupport(avroSchema, compressedTraceData, microsecondTimestamps);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.StatsProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.CoveredRange;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.dto.ParameterStatsSummary;
+import com.samsung.ees.infra.api.dataprovider.model.TraceBucketStats;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory per-parameter time index over TD_FD_TRACE_PARAM.
+ * Keeps row counts, min/max START_TIME and stored byte sizes per time bucket for every PARAM_INDEX; the database
+ * aggregates the buckets, so a refresh transfers one row per (parameter, bucket).
+ * The index is refreshed incrementally from the highest START_TIME seen so far and periodically rebuilt
+ * from scratch so that late-arriving or deleted rows are eventually reflected.
+ * Until then it can miss rows, so it only serves as a hint: estimates may be low, and an index reported as empty
+ * is confirmed against the database before an export drops it ({@link #nonEmptyParameterIndices(DataExportRequest)}).
+ * Readers always see an immutable snapshot, so lookups never block a refresh.
+ * Its queries hold {@link ExportScheduler} permits: the refresh scan a bulk one, the key-only confirm queries an
+ * interactive one.
+ */
+@Slf4j
+@Service
+public class ParameterStatsIndex {
+    /** Upper bound on the gap ranges confirmed by one {@link #coverage(DataExportRequest)} query. */
+    static final int MAX_CONFIRMED_GAPS = 256;
+
+    private final ParameterStatsRepository parameterStatsRepository;
+    private final StatsProperties properties;
+    private final ExportScheduler exportScheduler;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+    private volatile Instant lastFullRebuild;
+
+    public ParameterStatsIndex(ParameterStatsRepository parameterStatsRepository, StatsProperties properties,
+                               ExportScheduler exportScheduler) {
+        this.parameterStatsRepository = parameterStatsRepository;
+        this.properties = properties;
+        this.exportScheduler = exportScheduler;
+    }
+
+    @Scheduled(initialDelayString = "${export.stats.initial-delay:5s}", fixedDelayString = "${export.stats.refresh-interval:1m}")
+    public void scheduledRefresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        refresh().subscribe();
+    }
+
+    /**
+     * Refreshes the index: a full rebuild if none happened yet or the rebuild interval elapsed, otherwise incremental.
+     * Concurrent calls while a refresh is in flight complete immediately.
+     */
+    public Mono<Void> refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            log.debug("Stats index refresh already in progress, skipping.");
+            return Mono.empty();
+        }
+        Snapshot current = snapshot;
+        boolean full = current == null || lastFullRebuild == null
+                || Duration.between(lastFullRebuild, Instant.now()).compareTo(properties.getFullRebuildInterval()) >= 0;
+        LocalDateTime after = full ? null : current.indexedUntil();
+        Instant startedAt = Instant.now();
+
+        // 집계 스캔은 백그라운드 작업이므로 BULK 허가로 실행 (INTERACTIVE 예약분을 쓰지 않음)
+        return exportScheduler.withConnectionPermit(ExportPriority.BULK, parameterStatsRepository.findBucketStats(after))
+                .collect(() -> new HashMap<Long, NavigableMap<LocalDateTime, BucketStats>>(), this::accumulate)
+                .map(ParameterStatsIndex::toParamStats)
+                .doOnNext(delta -> {
+                    snapshot = full ? new Snapshot(Collections.unmodifiableMap(delta), maxStartTime(delta.values(), null))
+                            : current.merge(delta);
+                    if (full) {
+                        lastFullRebuild = startedAt;
+                    }
+                    log.info("Stats index {} refresh completed: {} new parameter entries, indexed until {}.",
+                            full ? "full" : "incremental", delta.size(), snapshot.indexedUntil());
+                })
+                .doOnError(e -> log.error("Failed to refresh stats index", e))
+                .doFinally(signal -> refreshing.set(false))
+                .then();
+    }
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Estimates the size of an export from the index.
+     *
+     * @return The estimate, or empty if the index has not been built yet.
+     */
+    public Optional<ExportEstimate> estimate(DataExportRequest request) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+
+        long rows = 0;
+        long bytes = 0;
+        List<Long> nonEmpty = new ArrayList<>();
+        for (Long paramIndex : request.getParameterIndices()) {
+            ParamStats stats = current.params().get(paramIndex);
+            if (stats == null) {
+                continue;
+            }
+            boolean hit = false;
+            for (BucketStats bucket : stats.buckets().subMap(bucketStart(start), true, end, true).values()) {
+                if (bucket.maxStartTime().isBefore(start) || bucket.minStartTime().isAfter(end)) {
+                    continue;
+                }
+                hit = true;
+                double fraction = overlapFraction(bucket, start, end);
+                rows += (long) Math.ceil(bucket.rowCount() * fraction);
+                bytes += (long) Math.ceil(bucket.bytes() * fraction);
+            }
+            if (hit) {
+                nonEmpty.add(paramIndex);
+            }
+        }
+        boolean complete = current.indexedUntil() != null && !end.isAfter(current.indexedUntil());
+        return Optional.of(new ExportEstimate(rows, bytes, nonEmpty, complete, current.indexedUntil()));
+    }
+
+    /**
+     * Returns the indices of the request that have rows in its range, in request order.
+     * Indices the index reports as empty are confirmed with a key-only query before they are dropped, because rows that
+     * arrived late (START_TIME below the watermark) are not indexed until the next full rebuild.
+     * All requested indices are returned, without a query, if the index is not ready or disabled for skipping,
+     * or if it reports every index as non-empty.
+     */
+    public Mono<List<Long>> nonEmptyParameterIndices(DataExportRequest request) {
+        List<Long> requested = request.getParameterIndices();
+        if (!properties.isEnabled() || !properties.isSkipEmptyRanges()) {
+            return Mono.just(requested);
+        }
+        Optional<ExportEstimate> estimate = estimate(request);
+        if (estimate.isEmpty()) {
+            return Mono.just(requested);
+        }
+        Set<Long> indexed = new HashSet<>(estimate.get().nonEmptyParameterIndices());
+        List<Long> reportedEmpty = requested.stream().filter(paramIndex -> !indexed.contains(paramIndex)).distinct().toList();
+        if (reportedEmpty.isEmpty()) {
+            return Mono.just(requested);
+        }
+        return exportScheduler.withConnectionPermit(ExportPriority.INTERACTIVE,
+                        parameterStatsRepository.findParameterIndicesWithRows(reportedEmpty, request.getStartTime(), request.getEndTime()))
+                .collect(Collectors.toSet())
+                .map(unindexed -> {
+                    if (!unindexed.isEmpty()) {
+                        log.info("Stats index missed rows of parameter indices {} in [{}, {}]; they are kept in the export.",
+                                unindexed, request.getStartTime(), request.getEndTime());
+                    }
+                    return requested.stream()
+                            .filter(paramIndex -> indexed.contains(paramIndex) || unindexed.contains(paramIndex))
+                            .toList();
+                });
+    }
+
+    /**
+     * Returns, per requested index, the parts of the range that hold rows according to the index (whole buckets clipped
+     * to the range, in time order, with their stored sizes), so shard boundaries can follow the data.
+     * The gaps between the buckets (including the whole range of an index reported as empty) are confirmed with one
+     * key-only query, like {@link #nonEmptyParameterIndices(DataExportRequest)}; parameters with rows there, or beyond
+     * {@link #MAX_CONFIRMED_GAPS} gaps, are left out of the map so the caller covers their whole range.
+     * The part after the last indexed bucket is always covered. Empty if the index is not ready or disabled for skipping.
+     */
+    public Mono<Map<Long, List<CoveredRange>>> coverage(DataExportRequest request) {
+        Snapshot current = snapshot;
+        if (!properties.isEnabled() || !properties.isSkipEmptyRanges() || current == null) {
+            return Mono.empty();
+        }
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+        Duration bucketDuration = Duration.ofSeconds(Math.max(1, properties.getBucketDuration().toSeconds()));
+        // 아직 집계되지 않은 구간(마지막 버킷 이후)은 데이터 유무를 알 수 없으므로 항상 포함
+        LocalDateTime unindexedFrom = current.indexedUntil() == null ? start
+                : bucketStart(current.indexedUntil()).plus(bucketDuration);
+
+        Map<Long, List<CoveredRange>> coverage = new LinkedHashMap<>();
+        List<ParameterStatsRepository.ParameterRange> gaps = new ArrayList<>();
+        for (Long paramIndex : new LinkedHashSet<>(request.getParameterIndices())) {
+            List<CoveredRange> ranges = new ArrayList<>();
+            LocalDateTime cursor = start;
+            ParamStats stats = current.params().get(paramIndex);
+            if (stats != null) {
+                for (BucketStats bucket : stats.buckets().subMap(bucketStart(start), true, end, true).values()) {
+                    if (bucket.maxStartTime().isBefore(start) || bucket.minStartTime().isAfter(end)) {
+                        continue;
+                    }
+                    LocalDateTime from = max(bucket.bucketStart(), start);
+                    LocalDateTime to = min(bucket.bucketStart().plus(bucketDuration).minusNanos(1), end);
+                    if (from.isAfter(cursor)) {
+                        gaps.add(new ParameterStatsRepository.ParameterRange(paramIndex, cursor, from.minusNanos(1)));
+                    }
+                    ranges.add(new CoveredRange(from, to, (long) Math.ceil(bucket.bytes() * overlapFraction(bucket, start, end))));
+                    cursor = to.plusNanos(1);
+                }
+            }
+            LocalDateTime lastGapEnd = min(unindexedFrom.minusNanos(1), end);
+            if (!cursor.isAfter(lastGapEnd)) {
+                gaps.add(new ParameterStatsRepository.ParameterRange(paramIndex, cursor, lastGapEnd));
+            }
+            LocalDateTime unindexedStart = max(cursor, unindexedFrom);
+            if (!unindexedStart.isAfter(end)) {
+                ranges.add(new CoveredRange(unindexedStart, end, 0));
+            }
+            coverage.put(paramIndex, ranges);
+        }
+        if (gaps.isEmpty()) {
+            return Mono.just(coverage);
+        }
+
+        // 💡 확인 쿼리가 과도하게 길어지지 않도록 상한을 넘는 gap의 파라미터는 전체 구간을 담당하게 함
+        gaps.subList(Math.min(gaps.size(), MAX_CONFIRMED_GAPS), gaps.size())
+                .forEach(gap -> coverage.remove(gap.paramIndex()));
+        List<ParameterStatsRepository.ParameterRange> confirmed = gaps.subList(0, Math.min(gaps.size(), MAX_CONFIRMED_GAPS)).stream()
+                .filter(gap -> coverage.containsKey(gap.paramIndex()))
+                .toList();
+        return exportScheduler.withConnectionPermit(ExportPriority.INTERACTIVE,
+                        parameterStatsRepository.findParameterIndicesWithRowsInRanges(confirmed))
+                .collect(Collectors.toSet())
+                .map(unindexed -> {
+                    if (!unindexed.isEmpty()) {
+                        log.info("Stats index missed rows of parameter indices {} in [{}, {}]; their whole range is exported.",
+                                unindexed, start, end);
+                        unindexed.forEach(coverage::remove);
+                    }
+                    return coverage;
+                });
+    }
+
+    public List<ParameterStatsSummary> summaries(Collection<Long> paramIndices, boolean includeBuckets) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return List.of();
+        }
+        Collection<Long> keys = (paramIndices == null || paramIndices.isEmpty())
+                ? new TreeMap<>(current.params()).keySet() : paramIndices;
+        List<ParameterStatsSummary> summaries = new ArrayList<>();
+        for (Long paramIndex : keys) {
+            ParamStats stats = current.params().get(paramIndex);
+            if (stats == null) {
+                continue;
+            }
+            List<ParameterStatsSummary.Bucket> buckets = includeBuckets
+                    ? stats.buckets().values().stream()
+                        .map(b -> new ParameterStatsSummary.Bucket(b.bucketStart(), b.rowCount(), b.bytes()))
+                        .toList()
+                    : null;
+            summaries.add(new ParameterStatsSummary(paramIndex, stats.rowCount(), stats.bytes(),
+                    stats.minStartTime(), stats.maxStartTime(), buckets));
+        }
+        return summaries;
+    }
+
+    public Optional<LocalDateTime> indexedUntil() {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.ofNullable(current.indexedUntil());
+    }
+
+    private void accumulate(Map<Long, NavigableMap<LocalDateTime, BucketStats>> delta, TraceBucketStats row) {
+        if (row.paramIndex() == null || row.minStartTime() == null || row.maxStartTime() == null) {
+            return;
+        }
+        delta.computeIfAbsent(row.paramIndex(), k -> new TreeMap<>())
+                .merge(row.bucketStart(), new BucketStats(row.bucketStart(), row.rowCount(), row.byteSize(),
+                        row.minStartTime(), row.maxStartTime()), BucketStats::merge);
+    }
+
+    private static Map<Long, ParamStats> toParamStats(Map<Long, NavigableMap<LocalDateTime, BucketStats>> buckets) {
+        Map<Long, ParamStats> stats = new HashMap<>();
+        buckets.forEach((paramIndex, paramBuckets) -> stats.put(paramIndex, ParamStats.of(paramBuckets)));
+        return stats;
+    }
+
+    private LocalDateTime bucketStart(LocalDateTime time) {
+        long bucketSeconds = Math.max(1, properties.getBucketDuration().toSeconds());
+        long epochSeconds = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSeconds, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private double overlapFraction(BucketStats bucket, LocalDateTime start, LocalDateTime end) {
+        // 버킷 내 실제 데이터 구간(min~max START_TIME) 기준으로 요청 범위와 겹치는 비율을 계산
+        if (!bucket.minStartTime().isBefore(start) && !bucket.maxStartTime().isAfter(end)) {
+            return 1.0;
+        }
+        long span = Duration.between(bucket.minStartTime(), bucket.maxStartTime()).toNanos();
+        if (span <= 0) {
+            return 1.0;
+        }
+        LocalDateTime from = bucket.minStartTime().isBefore(start) ? start : bucket.minStartTime();
+        LocalDateTime to = bucket.maxStartTime().isAfter(end) ? end : bucket.maxStartTime();
+        return Math.min(1.0, Math.max(0.0, (double) Duration.between(from, to).toNanos() / span));
+    }
+
+    private static LocalDateTime maxStartTime(Collection<ParamStats> stats, LocalDateTime initial) {
+        LocalDateTime max = initial;
+        for (ParamStats s : stats) {
+            if (max == null || s.maxStartTime().isAfter(max)) {
+                max = s.maxStartTime();
+            }
+        }
+        return max;
+    }
+
+    private record Snapshot(Map<Long, ParamStats> params, LocalDateTime indexedUntil) {
+
+        Snapshot merge(Map<Long, ParamStats> delta) {
+            Map<Long, ParamStats> merged = new HashMap<>(params);
+            delta.forEach((paramIndex, stats) -> merged.merge(paramIndex, stats, ParamStats::merge));
+            return new Snapshot(Collections.unmodifiableMap(merged), maxStartTime(delta.values(), indexedUntil));
+        }
+    }
+
+    private record ParamStats(long rowCount, long bytes, LocalDateTime minStartTime, LocalDateTime maxStartTime,
+                              NavigableMap<LocalDateTime, BucketStats> buckets) {
+
+        static ParamStats of(NavigableMap<LocalDateTime, BucketStats> buckets) {
+            long rowCount = 0;
+            long bytes = 0;
+            for (BucketStats bucket : buckets.values()) {
+                rowCount += bucket.rowCount();
+                bytes += bucket.bytes();
+            }
+            return new ParamStats(rowCount, bytes, buckets.firstEntry().getValue().minStartTime(),
+                    buckets.lastEntry().getValue().maxStartTime(), buckets);
+        }
+
+        ParamStats merge(ParamStats other) {
+            NavigableMap<LocalDateTime, BucketStats> mergedBuckets = new TreeMap<>(buckets);
+            other.buckets().forEach((start, bucket) -> mergedBuckets.merge(start, bucket, BucketStats::merge));
+            return new ParamStats(rowCount + other.rowCount(), bytes + other.bytes(),
+                    min(minStartTime, other.minStartTime()), max(maxStartTime, other.maxStartTime()), mergedBuckets);
+        }
+    }
+
+    private record BucketStats(LocalDateTime bucketStart, long rowCount, long bytes,
+                               LocalDateTime minStartTime, LocalDateTime maxStartTime) {
+
+        BucketStats merge(BucketStats other) {
+            return new BucketStats(bucketStart, rowCount + other.rowCount(), bytes + other.bytes(),
+                    min(minStartTime, other.minStartTime()), max(maxStartTime, other.maxStartTime()));
+        }
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -1,18 +1,16 @@
 package com.samsung.ees.infra.api.dataprovider.service;
 
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
 import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
-import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryOutputFile;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericData;
-import org.apache.avro.generic.GenericRecord;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.parquet.avro.AvroParquetWriter;
 import org.apache.parquet.hadoop.ParquetFileWriter;
 import org.apache.parquet.hadoop.ParquetWriter;
-import org.apache.parquet.io.DelegatingPositionOutputStream;
 import org.apache.parquet.io.OutputFile;
-import org.apache.parquet.io.PositionOutputStream;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,8 +19,8 @@ import reactor.core.scheduler.Schedulers;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.util.List;
 
 /**
  * Service responsible for converting a stream of SensorData into a Parquet file format.
@@ -58,18 +56,52 @@ public class ParquetConversionService {
      * @return A Mono emitting the Parquet file as a byte array.
      */
     public Mono<byte[]> convertToParquet(Flux<ParameterData> sensorDataFlux) {
-        return sensorDataFlux.collectList().flatMap(dataList -> {
+        return convertToParquet(sensorDataFlux, TraceEncoding.JSON);
+    }
+
+    /**
+     * Converts a Flux of ParameterData into a Parquet file using the given trace encoding.
+     *
+     * @param sensorDataFlux The reactive stream of data to convert.
+     * @param encoding       Layout of TRACE_DATA in the file; see {@link TraceEncoding}.
+     * @return A Mono emitting the Parquet file as a byte array.
+     */
+    public Mono<byte[]> convertToParquet(Flux<ParameterData> sensorDataFlux, TraceEncoding encoding) {
+        return convertToParquet(sensorDataFlux, encoding, true);
+    }
+
+    /**
+     * Converts a Flux of ParameterData into a Parquet file using the given trace encoding.
+     *
+     * @param sensorDataFlux      The reactive stream of data to convert.
+     * @param encoding            Layout of TRACE_DATA in the file; see {@link TraceEncoding}.
+     * @param compressedTraceData Whether TRACE_DATA of the rows is GZIP-compressed as stored in the DB, or already
+     *                            decompressed JSON (only supported with {@link TraceEncoding#JSON}).
+     * @return A Mono emitting the Parquet file as a byte array.
+     */
+    public Mono<byte[]> convertToParquet(Flux<ParameterData> sensorDataFlux, TraceEncoding encoding, boolean compressedTraceData) {
+        if (!compressedTraceData && encoding != TraceEncoding.JSON) {
+            return Mono.error(new IllegalArgumentException("Decompressed trace data is only supported with the JSON encoding"));
+        }
+        return Mono.deferContextual(context -> sensorDataFlux.collectList().flatMap(dataList -> {
             if (dataList.isEmpty()) {
                 log.debug("Input data stream is empty. Returning empty byte array.");
                 return Mono.just(new byte[0]);
             }
 
-            log.info("Starting Parquet conversion for {} records.", dataList.size());
+            log.info("Starting Parquet conversion for {} records ({} trace encoding).", dataList.size(), encoding);
+            // 💡 export별 CPU/할당 계측: 인코딩 구간을 span으로 측정 (행별 GZIP 해제는 중첩 span으로 분리)
+            ExportUsage usage = ExportUsage.from(context);
             return Mono.fromCallable(() -> {
-                        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                            try (ParquetWriter<GenericRecord> writer = createParquetWriter(baos)) {
-                                for (ParameterData data : dataList) {
-                                    writer.write(transformSensorData(data));
+                        try (ExportUsage.Span span = usage.span(ExportStage.ENCODE);
+                             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+                            if (encoding == TraceEncoding.KEY_INTERNED) {
+                                writeKeyInterned(dataList, baos);
+                            } else {
+                                try (ParquetWriter<ParameterData> writer = createParquetWriter(baos, compressedTraceData)) {
+                                    for (ParameterData data : dataList) {
+                                        writer.write(data);
+                                    }
                                 }
                             }
                             log.info("In-memory Parquet conversion completed successfully.");
@@ -81,78 +113,34 @@ public class ParquetConversionService {
                     })
                     .subscribeOn(Schedulers.boundedElastic()) // CPU-intensive work on a dedicated thread pool
                     .onErrorMap(e -> new RuntimeException("Failed to convert data to Parquet", e));
-        });
+        }));
     }
 
-    private ParquetWriter<GenericRecord> createParquetWriter(OutputStream outputStream) throws IOException {
-        Configuration conf = new Configuration();
-        // Disable CRC checks in Hadoop client for local file system operations, can prevent some warnings.
-        conf.set("fs.file.impl.disable.cache", "true");
-        return AvroParquetWriter.<GenericRecord>builder(new InMemoryOutputFile(outputStream))
-                .withSchema(SCHEMA)
-                .withConf(conf)
-                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
-                .build();
-    }
-
-    private GenericRecord transformSensorData(ParameterData data) {
-        try {
-            String decompressedJson = GzipUtil.gzipDecompString(data.getTraceData());
-
-            GenericRecord record = new GenericData.Record(SCHEMA);
-            record.put("paramIndex", data.getParamIndex());
-            record.put("startTime", java.sql.Timestamp.valueOf(data.getStartTime()).getTime());
-            record.put("endTime", java.sql.Timestamp.valueOf(data.getEndTime()).getTime());
-            record.put("traceData", decompressedJson);
-
-            return record;
-        } catch (IOException e) {
-            log.error("Failed to decompress or process data for paramIndex {}: {}", data.getParamIndex(), e.getMessage());
-            throw new UncheckedIOException("Data transformation failed for paramIndex " + data.getParamIndex(), e);
+    private void writeKeyInterned(List<ParameterData> dataList, ByteArrayOutputStream outputStream) throws IOException {
+        // 💡 JSON 키/범주형 값을 파일 단위로 한 번만 저장하고 값은 타입별 컬럼으로 분리
+        KeyInternedTraceWriter writer = new KeyInternedTraceWriter();
+        for (ParameterData data : dataList) {
+            writer.add(data);
         }
+        writer.writeTo(new InMemoryOutputFile(outputStream));
     }
 
-    // Helper class to allow ParquetWriter to write directly to an OutputStream.
-    private static class InMemoryOutputFile implements OutputFile {
-        private final ByteArrayOutputStream baos;
-
-        public InMemoryOutputFile(OutputStream os) {
-            this.baos = (ByteArrayOutputStream) os;
-        }
-
-        @Override
-        public PositionOutputStream create(long blockSizeHint) {
-            return new InMemoryPositionOutputStream(baos);
-        }
-
-        @Override
-        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
-            baos.reset();
-            return new InMemoryPositionOutputStream(baos);
-        }
-
-        @Override
-        public boolean supportsBlockSize() {
-            return false;
-        }
-
-        @Override
-        public long defaultBlockSize() {
-            return 0;
-        }
+    private ParquetWriter<ParameterData> createParquetWriter(ByteArrayOutputStream outputStream, boolean compressedTraceData) throws IOException {
+        // 💡 GenericRecord를 거치지 않고 ParameterData를 컬럼 writer에 직접 기록 (행마다 레코드/박싱/필드명 조회 제거)
+        return writerBuilder(new InMemoryOutputFile(outputStream))
+                .withCompressedTraceData(compressedTraceData)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build();
     }
 
-    private static class InMemoryPositionOutputStream extends DelegatingPositionOutputStream {
-        private final ByteArrayOutputStream baos;
-
-        public InMemoryPositionOutputStream(ByteArrayOutputStream baos) {
-            super(baos);
-            this.baos = baos;
-        }
-
-        @Override
-        public long getPos() {
-            return baos.size();
-        }
+    /**
+     * Returns a writer builder for the ParameterRecord layout produced by this service,
+     * for components that write the same files elsewhere (e.g. the cold tier).
+     */
+    public static ParameterRecordWriteSupport.Builder writerBuilder(OutputFile file) {
+        Configuration conf = new Configuration();
+        // Disable CRC checks in Hadoop client for local file system operations, can prevent some warnings.
+        conf.set("fs.file.impl.disable.cache", "true");
+        return ParameterRecordWriteSupport.builder(file, SCHEMA).withConf(conf);
     }
 }
@@ -0,0 +1,171 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.StreamingExportProperties;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.util.StreamingOutputFile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes an export to an output stream as it is produced instead of buffering the whole file.
+ * The Parquet magic is flushed before the first row is requested, and every row group is flushed as soon as
+ * ParquetWriter closes it, so the client's time to first byte no longer depends on the query or the encode.
+ * <p>
+ * Because the response is already committed when rows start to arrive, failures cannot change the status code (it stays 200).
+ * A failed export instead ends without the Parquet footer, followed by {@link #ERROR_MARKER} and the error message;
+ * the outcome is also returned as {@link Result#trailers()} for HTTP trailer fields. An export still running
+ * {@code export.streaming.timeout} after the request was received fails the same way at its next row.
+ */
+@Slf4j
+@Service
+public class ProgressiveParquetExporter {
+    public static final String STATUS_TRAILER = "X-Export-Status";
+    public static final String ROWS_TRAILER = "X-Export-Rows";
+    public static final String ERROR_TRAILER = "X-Export-Error";
+    /** Appended after the partial data of a failed export; a complete file always ends with the magic "PAR1". */
+    public static final String ERROR_MARKER = "\nEXPORT-FAILED: ";
+
+    private final StreamingExportProperties properties;
+    private final Timer firstByteTimer;
+    private final Timer firstRowGroupTimer;
+    private final Timer completedTimer;
+    private final Timer failedTimer;
+
+    public ProgressiveParquetExporter(StreamingExportProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.firstByteTimer = Timer.builder("export.stream.first-byte")
+                .description("Time from request receipt until headers and the Parquet magic are flushed").register(meterRegistry);
+        this.firstRowGroupTimer = Timer.builder("export.stream.first-row-group")
+                .description("Time from request receipt until the first row group is flushed").register(meterRegistry);
+        this.completedTimer = Timer.builder("export.stream.duration").tag("outcome", "complete")
+                .description("Duration of streamed exports").register(meterRegistry);
+        this.failedTimer = Timer.builder("export.stream.duration").tag("outcome", "failed")
+                .description("Duration of streamed exports").register(meterRegistry);
+    }
+
+    /**
+     * Streams the rows to {@code out} as one Parquet file. Blocks the calling thread until the rows are exhausted,
+     * so it must run on a thread that may block (e.g. an MVC async task). Never throws for export failures.
+     *
+     * @param rows          Rows to export; subscribed here and cancelled if the client goes away.
+     * @param out           Destination, owned by the caller and left open.
+     * @param receivedNanos {@link System#nanoTime()} at request receipt, the reference for the TTFB timers.
+     */
+    public Result write(Flux<ParameterData> rows, OutputStream out, long receivedNanos) {
+        StreamingOutputFile file = new StreamingOutputFile(out);
+        long rowCount = 0;
+        long flushedRows = 0;
+        int rowGroups = 0;
+        long sent = 0;
+        Duration firstByte = null;
+        Duration firstRowGroup = null;
+
+        try (Stream<ParameterData> stream = rows.toStream(properties.getPrefetch())) {
+            // 💡 writer 생성 시 magic("PAR1")이 기록되므로 바로 flush하여 헤더와 함께 첫 바이트를 전송
+            ParquetWriter<ParameterData> writer = ParquetConversionService.writerBuilder(file)
+                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                    .withRowGroupSize(properties.getRowGroupSize().toBytes())
+                    .build();
+            file.flush();
+            sent = file.position();
+            firstByte = since(receivedNanos);
+            firstByteTimer.record(firstByte);
+
+            long deadline = receivedNanos + properties.getTimeout().toNanos();
+            Iterator<ParameterData> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IllegalStateException("Export exceeded the streaming timeout of " + properties.getTimeout());
+                }
+                writer.write(iterator.next());
+                rowCount++;
+                if (file.position() > sent) {
+                    // row group이 스트림에 기록된 시점에만 flush (행마다 flush하지 않음)
+                    file.flush();
+                    sent = file.position();
+                    flushedRows = rowCount;
+                    if (++rowGroups == 1) {
+                        firstRowGroup = since(receivedNanos);
+                        firstRowGroupTimer.record(firstRowGroup);
+                    }
+                }
+            }
+            // 실패 시에는 close하지 않음: footer가 없어야 클라이언트가 잘린 파일을 정상 파일로 오인하지 않음
+            writer.close(); // 남은 행의 마지막 row group과 footer 기록
+            file.flush();
+            if (rowCount > flushedRows && ++rowGroups == 1) {
+                firstRowGroup = since(receivedNanos);
+                firstRowGroupTimer.record(firstRowGroup);
+            }
+            Duration elapsed = since(receivedNanos);
+            completedTimer.record(elapsed);
+            log.info("Streamed {} rows in {} row groups ({} bytes): first byte after {} ms, first row group after {} ms, completed in {} ms.",
+                    rowCount, rowGroups, file.position(), firstByte.toMillis(),
+                    firstRowGroup == null ? "-" : firstRowGroup.toMillis(), elapsed.toMillis());
+            return new Result(rowCount, rowGroups, file.position(), firstByte, firstRowGroup, null);
+        } catch (IOException | RuntimeException e) {
+            failedTimer.record(since(receivedNanos));
+            log.error("Streamed export failed after {} rows ({} bytes sent)", rowCount, sent, e);
+            writeErrorMarker(out, e);
+            return new Result(rowCount, rowGroups, sent, firstByte, firstRowGroup, e);
+        }
+    }
+
+    private static void writeErrorMarker(OutputStream out, Throwable error) {
+        try {
+            out.write((ERROR_MARKER + errorMessage(error) + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        } catch (IOException e) {
+            // 클라이언트 연결이 끊긴 경우 등: 더 이상 알릴 방법이 없음
+            log.debug("Could not write error marker to the client: {}", e.getMessage());
+        }
+    }
+
+    // 헤더/trailer 값으로 쓸 수 있도록 한 줄의 ASCII 메시지로 정리
+    static String errorMessage(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        return message.replaceAll("[^\\x20-\\x7E]", " ");
+    }
+
+    private static Duration since(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Outcome of a streamed export.
+     *
+     * @param firstRowGroup Time to the first row group, or null if no rows were written.
+     * @param error         The failure, or null if the file was completed.
+     */
+    public record Result(long rows, int rowGroups, long bytes, Duration firstByte, Duration firstRowGroup, Throwable error) {
+
+        public boolean completed() {
+            return error == null;
+        }
+
+        /** Trailer fields describing the outcome. */
+        public Map<String, String> trailers() {
+            Map<String, String> trailers = new LinkedHashMap<>();
+            trailers.put(STATUS_TRAILER, completed() ? "complete" : "failed");
+            trailers.put(ROWS_TRAILER, Long.toString(rows));
+            if (error != null) {
+                trailers.put(ERROR_TRAILER, errorMessage(error));
+            }
+            return trailers;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.CompressionProperties;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Negotiates and applies HTTP content coding for export responses.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCompressor {
+    private final CompressionProperties properties;
+
+    /**
+     * Chooses the coding for a response of the given size from the client's Accept-Encoding header.
+     */
+    public ContentEncoding negotiate(String acceptEncoding, long responseSize) {
+        if (!properties.isEnabled() || responseSize < properties.getMinResponseSize().toBytes()) {
+            return ContentEncoding.IDENTITY;
+        }
+        return ContentEncoding.negotiate(acceptEncoding);
+    }
+
+    /**
+     * Compression level for the given coding and response size: the larger the response, the faster the level.
+     */
+    public int level(ContentEncoding encoding, long responseSize) {
+        CompressionProperties.Levels levels = switch (encoding) {
+            case ZSTD -> properties.getZstd();
+            case GZIP -> properties.getGzip();
+            case IDENTITY -> null;
+        };
+        if (levels == null) {
+            return 0;
+        }
+        if (responseSize <= properties.getSmallResponseSize().toBytes()) {
+            return levels.getSmall();
+        }
+        return responseSize <= properties.getLargeResponseSize().toBytes() ? levels.getMedium() : levels.getLarge();
+    }
+
+    /**
+     * Wraps an output stream with the encoder for the given coding, using a level chosen by the expected size.
+     */
+    public OutputStream wrap(OutputStream out, ContentEncoding encoding, long expectedSize) throws IOException {
+        return encoding.wrap(out, level(encoding, expectedSize));
+    }
+
+    public byte[] compress(byte[] data, ContentEncoding encoding) {
+        if (encoding == ContentEncoding.IDENTITY) {
+            return data;
+        }
+        long startNanos = System.nanoTime();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (OutputStream encoder = wrap(baos, encoding, data.length)) {
+            encoder.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to " + encoding.token() + "-encode response", e);
+        }
+        byte[] compressed = baos.toByteArray();
+        log.debug("Encoded {} bytes with {} (level {}) into {} bytes in {} ms.", data.length, encoding.token(),
+                level(encoding, data.length), compressed.length, (System.nanoTime() - startNanos) / 1_000_000);
+        return compressed;
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.samsung.ees.infra.api.dataprovider.config.ColdTierProperties;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportPriority;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job that mirrors closed partitions of TD_FD_TRACE_PARAM into the cold tier.
+ * A partition is closed once its end lies {@code closeDelay} in the past. Each run compacts the oldest
+ * partitions not yet in the manifest, one at a time and holding a bulk connection permit, so the job never
+ * competes with interactive exports for the reserved connections.
+ * A closed partition is only compacted once its row count has stayed the same for {@code settleWindow}: the first run
+ * that sees it records the count, and later runs compact it when the count still matches after the window. This keeps
+ * partitions that are still being loaded (old data arriving in bulk) out of the cold tier.
+ */
+@Slf4j
+@Service
+public class ColdTierCompactionJob {
+    private final ColdTierProperties properties;
+    private final ColdTierStore coldTierStore;
+    private final ParameterDataRepository parameterDataRepository;
+    private final ExportScheduler exportScheduler;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<LocalDateTime, Observation> observations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ColdTierCompactionJob(ColdTierProperties properties, ColdTierStore coldTierStore,
+                                 ParameterDataRepository parameterDataRepository, ExportScheduler exportScheduler) {
+        this(properties, coldTierStore, parameterDataRepository, exportScheduler, Clock.systemDefaultZone());
+    }
+
+    ColdTierCompactionJob(ColdTierProperties properties, ColdTierStore coldTierStore,
+                          ParameterDataRepository parameterDataRepository, ExportScheduler exportScheduler, Clock clock) {
+        this.properties = properties;
+        this.coldTierStore = coldTierStore;
+        this.parameterDataRepository = parameterDataRepository;
+        this.exportScheduler = exportScheduler;
+        this.clock = clock;
+    }
+
+    @Scheduled(initialDelayString = "${export.cold-tier.compaction-initial-delay:30s}",
+            fixedDelayString = "${export.cold-tier.compaction-interval:10m}")
+    public void scheduledCompaction() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        compact().subscribe();
+    }
+
+    /**
+     * Compacts up to {@code maxPartitionsPerRun} closed partitions that are not in the manifest yet.
+     * Concurrent calls while a run is in flight complete immediately.
+     *
+     * @return The partitions compacted by this run.
+     */
+    public Mono<List<ColdTierManifest.Partition>> compact() {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Cold tier compaction already in progress, skipping.");
+            return Mono.just(List.of());
+        }
+        LocalDateTime closedBefore = coldTierStore.partitionStart(LocalDateTime.now(clock).minus(properties.getCloseDelay()));
+
+        return exportScheduler.withConnectionPermit(ExportPriority.BULK, parameterDataRepository.findMinStartTime().flux())
+                .next()
+                .flatMapMany(minStartTime -> Flux.fromIterable(pendingPartitions(coldTierStore.partitionStart(minStartTime), closedBefore)))
+                .concatMap(start -> isSettled(start).filter(Boolean::booleanValue).flatMap(settled -> compactPartition(start)))
+                .collectList()
+                .doOnNext(compacted -> {
+                    if (!compacted.isEmpty()) {
+                        log.info("Cold tier compaction run completed: {} partitions compacted.", compacted.size());
+                    }
+                })
+                .doOnError(e -> log.error("Cold tier compaction failed", e))
+                .doFinally(signal -> running.set(false));
+    }
+
+    private List<LocalDateTime> pendingPartitions(LocalDateTime first, LocalDateTime closedBefore) {
+        List<LocalDateTime> pending = new ArrayList<>();
+        for (LocalDateTime start = first; !start.plus(properties.getPartitionDuration()).isAfter(closedBefore)
+                && pending.size() < properties.getMaxPartitionsPerRun(); start = start.plus(properties.getPartitionDuration())) {
+            if (!coldTierStore.covers(start)) {
+                pending.add(start);
+            }
+        }
+        return pending;
+    }
+
+    private Mono<Boolean> isSettled(LocalDateTime start) {
+        if (properties.getSettleWindow().isZero()) {
+            return Mono.just(true);
+        }
+        LocalDateTime end = start.plus(properties.getPartitionDuration());
+        return exportScheduler.withConnectionPermit(ExportPriority.BULK, parameterDataRepository.countByTimeRange(start, end).flux())
+                .next()
+                .map(rowCount -> {
+                    Instant now = clock.instant();
+                    Observation previous = observations.get(start);
+                    if (previous == null || previous.rowCount() != rowCount) {
+                        // 처음 보거나 행 수가 바뀐 파티션은 아직 적재 중일 수 있으므로 다음 실행까지 대기
+                        observations.put(start, new Observation(rowCount, now));
+                        log.debug("Cold tier partition [{}, {}) has {} rows; waiting {} for it to settle.",
+                                start, end, rowCount, properties.getSettleWindow());
+                        return false;
+                    }
+                    if (previous.since().plus(properties.getSettleWindow()).isAfter(now)) {
+                        return false;
+                    }
+                    observations.remove(start);
+                    return true;
+                });
+    }
+
+    private Mono<ColdTierManifest.Partition> compactPartition(LocalDateTime start) {
+        LocalDateTime end = start.plus(properties.getPartitionDuration());
+        log.info("Compacting cold tier partition [{}, {}).", start, end);
+        return coldTierStore.writePartition(start, end, exportScheduler.withConnectionPermit(ExportPriority.BULK,
+                parameterDataRepository.findByTimeRange(start, end)));
+    }
+
+    private record Observation(long rowCount, Instant since) {
+    }
+}
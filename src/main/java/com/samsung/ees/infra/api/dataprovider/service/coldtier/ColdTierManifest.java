@@ -0,0 +1,35 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contents of {@code manifest.json}: the closed partitions mirrored into the cold tier.
+ * A partition with no rows has no file but is still listed, so its range is known to be empty.
+ * Version 2 stores timestamps in microseconds; a manifest with another version is discarded and its partitions are
+ * compacted again.
+ */
+public record ColdTierManifest(int version, List<Partition> partitions) {
+
+    public static final int CURRENT_VERSION = 2;
+
+    /**
+     * @param start    Inclusive partition start (START_TIME).
+     * @param end      Exclusive partition end.
+     * @param file     File name relative to the cold tier directory, or null if the partition is empty.
+     * @param rowCount Number of rows in the file.
+     * @param fileSize Size of the file in bytes.
+     * @param compactedAt Time the partition was compacted.
+     */
+    public record Partition(LocalDateTime start, LocalDateTime end, String file, long rowCount, long fileSize,
+                            Instant compactedAt) {
+
+        @JsonIgnore
+        public boolean isEmpty() {
+            return rowCount == 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits an export range into parts served from the cold tier and parts that still need the database
+ * (recent data, or partitions not compacted yet), and merges both into one row stream ordered by PARAM_INDEX, START_TIME,
+ * the same order a single database query over the whole range returns.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ColdTierQueryRouter {
+    /** Database rows decompressed per task (and per DECOMPRESS span) off the driver thread. */
+    static final int DECOMPRESS_BATCH = 64;
+    private static final Comparator<ParameterData> ROW_ORDER =
+            Comparator.comparing(ParameterData::getParamIndex).thenComparing(ParameterData::getStartTime);
+
+    private final ColdTierStore coldTierStore;
+
+    public ExportRoute route(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!coldTierStore.isEnabled() || coldTierStore.partitions().isEmpty()) {
+            return ExportRoute.databaseOnly(startTime, endTime);
+        }
+
+        var partitions = coldTierStore.partitions();
+        List<ColdTierManifest.Partition> cold = new ArrayList<>();
+        List<ExportRoute.HotRange> hot = new ArrayList<>();
+        LocalDateTime cursor = startTime;
+        LocalDateTime hotStart = null;
+        while (!cursor.isAfter(endTime)) {
+            Map.Entry<LocalDateTime, ColdTierManifest.Partition> entry = partitions.floorEntry(cursor);
+            if (entry != null && cursor.isBefore(entry.getValue().end())) {
+                if (hotStart != null) {
+                    // 파티션 구간은 [start, end)이므로 DB 조회 구간은 파티션 시작 직전까지
+                    hot.add(new ExportRoute.HotRange(hotStart, cursor.minusNanos(1)));
+                    hotStart = null;
+                }
+                if (!entry.getValue().isEmpty()) {
+                    cold.add(entry.getValue());
+                }
+                cursor = entry.getValue().end();
+            } else {
+                if (hotStart == null) {
+                    hotStart = cursor;
+                }
+                LocalDateTime next = partitions.higherKey(cursor);
+                if (next == null) {
+                    break;
+                }
+                cursor = next;
+            }
+        }
+        if (hotStart != null) {
+            hot.add(new ExportRoute.HotRange(hotStart, endTime));
+        }
+        log.debug("Export route for [{}, {}]: {} cold partitions, database ranges {}", startTime, endTime, cold.size(), hot);
+        return new ExportRoute(List.copyOf(cold), List.copyOf(hot));
+    }
+
+    /**
+     * Merges the cold rows of the route with the given database rows into one stream ordered by PARAM_INDEX, START_TIME.
+     * Every partition file and the database query are already sorted that way, so a k-way merge restores the global
+     * order without buffering. Database rows are GZIP-decompressed on the way, so every emitted row carries plain JSON
+     * and has to be written with {@code withCompressedTraceData(false)}. Decompression runs in small batches on the
+     * bounded elastic scheduler, not on the driver thread, and is charged to {@link ExportStage#DECOMPRESS}.
+     *
+     * @param databaseRows Rows of the route's hot ranges, as one stream ordered by PARAM_INDEX, START_TIME.
+     */
+    public Flux<ParameterData> merge(ExportRoute route, List<Long> paramIndices, LocalDateTime startTime, LocalDateTime endTime,
+                                     Flux<ParameterData> databaseRows) {
+        // 연속된 mergeComparingWith는 Reactor가 하나의 n-way 병합으로 합침
+        // 💡 GZIP 해제는 R2DBC 이벤트 루프를 막지 않도록 별도 스레드에서 배치 단위로 실행 (QUERY가 아닌 DECOMPRESS로 계측)
+        Flux<ParameterData> merged = Flux.deferContextual(context -> {
+            ExportUsage usage = ExportUsage.from(context);
+            return databaseRows.buffer(DECOMPRESS_BATCH)
+                    .publishOn(Schedulers.boundedElastic())
+                    .concatMapIterable(batch -> decompress(usage, batch));
+        });
+        for (ColdTierManifest.Partition partition : route.coldPartitions()) {
+            merged = merged.mergeComparingWith(coldTierStore.read(partition, paramIndices, startTime, endTime), ROW_ORDER);
+        }
+        return merged;
+    }
+
+    private static List<ParameterData> decompress(ExportUsage usage, List<ParameterData> batch) {
+        try (ExportUsage.Span span = usage.span(ExportStage.DECOMPRESS)) {
+            List<ParameterData> rows = new ArrayList<>(batch.size());
+            for (ParameterData row : batch) {
+                rows.add(decompress(row));
+            }
+            return rows;
+        }
+    }
+
+    private static ParameterData decompress(ParameterData row) {
+        try {
+            return new ParameterData(row.getParamIndex(), row.getStartTime(), row.getEndTime(), GzipUtil.gzipDecompress(row.getTraceData()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Data transformation failed for paramIndex " + row.getParamIndex(), e);
+        }
+    }
+}
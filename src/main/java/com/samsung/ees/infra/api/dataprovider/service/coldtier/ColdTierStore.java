@@ -0,0 +1,330 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.samsung.ees.infra.api.dataprovider.config.ColdTierProperties;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterRecordWriteSupport;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.util.LocalInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.LocalOutputFile;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Local Parquet files mirroring closed time partitions of TD_FD_TRACE_PARAM, plus their manifest.
+ * Partition files hold the decompressed trace JSON sorted by (PARAM_INDEX, START_TIME), so row group statistics
+ * and the page-level column index let readers skip everything outside the requested indices and time range.
+ * Unlike export files, timestamps are stored in microseconds so rows keep the precision of the database.
+ * Files are written to a temporary name and moved into place before the manifest is updated, so readers never
+ * see a partially written partition.
+ */
+@Slf4j
+@Service
+public class ColdTierStore {
+    static final String MANIFEST_FILE = "manifest.json";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final Operators.LongColumn PARAM_INDEX_COLUMN = FilterApi.longColumn("paramIndex");
+    private static final Operators.LongColumn START_TIME_COLUMN = FilterApi.longColumn("startTime");
+
+    private final ColdTierProperties properties;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .build();
+
+    private volatile NavigableMap<LocalDateTime, ColdTierManifest.Partition> partitions = Collections.emptyNavigableMap();
+
+    public ColdTierStore(ColdTierProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            load();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Returns the compacted partitions keyed by their start. The map is an immutable snapshot.
+     */
+    public NavigableMap<LocalDateTime, ColdTierManifest.Partition> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Returns whether a compacted partition covers the given point in time.
+     */
+    public boolean covers(LocalDateTime time) {
+        var entry = partitions.floorEntry(time);
+        return entry != null && time.isBefore(entry.getValue().end());
+    }
+
+    /**
+     * Start of the partition the given time falls into, aligned to {@code partitionDuration} (UTC epoch based).
+     */
+    public LocalDateTime partitionStart(LocalDateTime time) {
+        long partitionSeconds = Math.max(1, properties.getPartitionDuration().toSeconds());
+        long epochSeconds = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSeconds, partitionSeconds) * partitionSeconds, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Writes the rows of one partition to a new file and registers it in the manifest.
+     * Rows must already be ordered by PARAM_INDEX, START_TIME. On error or cancellation the partial file is removed.
+     */
+    public Mono<ColdTierManifest.Partition> writePartition(LocalDateTime start, LocalDateTime end, Flux<ParameterData> rows) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> new PartitionWriter(start, end)).subscribeOn(Schedulers.boundedElastic()),
+                writer -> rows.publishOn(Schedulers.boundedElastic())
+                        .doOnNext(writer::write)
+                        .then(Mono.fromCallable(writer::commit)),
+                writer -> Mono.fromRunnable(writer::discard),
+                (writer, error) -> Mono.fromRunnable(writer::discard),
+                writer -> Mono.fromRunnable(writer::discard));
+    }
+
+    /**
+     * Streams the rows of the given indices and START_TIME range (both ends inclusive) from one partition file,
+     * ordered by PARAM_INDEX, START_TIME. The file is opened on subscription and read on a bounded elastic thread.
+     */
+    public Flux<ParameterData> read(ColdTierManifest.Partition partition, Collection<Long> paramIndices,
+                                    LocalDateTime startTime, LocalDateTime endTime) {
+        FilterPredicate predicate = FilterApi.and(
+                FilterApi.in(PARAM_INDEX_COLUMN, new HashSet<>(paramIndices)),
+                FilterApi.and(FilterApi.gtEq(START_TIME_COLUMN, toEpochMicros(startTime)),
+                        FilterApi.ltEq(START_TIME_COLUMN, toEpochMicros(endTime))));
+
+        return Flux.using(
+                        () -> openReader(partition, predicate),
+                        reader -> Flux.<ParameterData>generate(sink -> {
+                            try {
+                                ParameterData row = reader.read();
+                                if (row == null) {
+                                    sink.complete();
+                                } else {
+                                    sink.next(row);
+                                }
+                            } catch (IOException e) {
+                                sink.error(new UncheckedIOException("Failed to read cold tier partition " + partition.file(), e));
+                            }
+                        }),
+                        reader -> {
+                            try {
+                                reader.close();
+                            } catch (IOException e) {
+                                log.debug("Failed to close cold tier reader for {}", partition.file(), e);
+                            }
+                        })
+                .subscribeOn(Schedulers.boundedElastic()); // 파일 I/O 및 디코딩은 별도 스레드에서
+    }
+
+    /**
+     * Deletes all partition files and the manifest. Called when the database is reseeded, since the mirrored
+     * partitions no longer match the table.
+     */
+    public synchronized void clear() {
+        Path directory = properties.getDirectory();
+        partitions = Collections.emptyNavigableMap();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.{parquet,json}")) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+            log.info("Cleared cold tier directory {}.", directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot clear cold tier directory " + directory, e);
+        }
+    }
+
+    private ParquetReader<ParameterData> openReader(ColdTierManifest.Partition partition, FilterPredicate predicate) throws IOException {
+        // 💡 파일이 (PARAM_INDEX, START_TIME) 순으로 정렬되어 있어 row group 통계 / column index로 대부분의 페이지를 건너뜀
+        return new ParquetReader.Builder<ParameterData>(new LocalInputFile(resolve(partition.file()))) {
+            @Override
+            protected ReadSupport<ParameterData> getReadSupport() {
+                return new ParameterRecordReadSupport();
+            }
+        }
+                .withFilter(FilterCompat.get(predicate))
+                .useStatsFilter(true)
+                .useColumnIndexFilter(true)
+                .useRecordFilter(true)
+                .build();
+    }
+
+    Path resolve(String file) {
+        return properties.getDirectory().resolve(file);
+    }
+
+    private void load() {
+        Path directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            deleteTemporaryFiles(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare cold tier directory " + directory, e);
+        }
+
+        Path manifestPath = directory.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifestPath)) {
+            log.info("No cold tier manifest in {}; starting empty.", directory);
+            return;
+        }
+        try {
+            ColdTierManifest manifest = objectMapper.readValue(manifestPath.toFile(), ColdTierManifest.class);
+            if (manifest.version() != ColdTierManifest.CURRENT_VERSION) {
+                // 파일 형식이 다른 이전 버전 파티션은 버리고 다시 압축
+                log.warn("Discarding cold tier manifest version {} (current {}); partitions will be compacted again.",
+                        manifest.version(), ColdTierManifest.CURRENT_VERSION);
+                clear();
+                return;
+            }
+            NavigableMap<LocalDateTime, ColdTierManifest.Partition> loaded = new TreeMap<>();
+            for (ColdTierManifest.Partition partition : manifest.partitions()) {
+                if (!partition.isEmpty() && !Files.exists(resolve(partition.file()))) {
+                    log.warn("Cold tier file {} listed in the manifest is missing; the partition will be compacted again.", partition.file());
+                    continue;
+                }
+                loaded.put(partition.start(), partition);
+            }
+            partitions = Collections.unmodifiableNavigableMap(loaded);
+            log.info("Loaded cold tier manifest with {} partitions from {}.", loaded.size(), directory);
+        } catch (IOException e) {
+            // 매니페스트가 손상된 경우 비어 있는 상태로 시작하고 파티션은 다시 압축됨
+            log.error("Failed to read cold tier manifest {}; starting empty.", manifestPath, e);
+        }
+    }
+
+    private synchronized void register(ColdTierManifest.Partition partition) throws IOException {
+        NavigableMap<LocalDateTime, ColdTierManifest.Partition> updated = new TreeMap<>(partitions);
+        updated.put(partition.start(), partition);
+
+        Path manifestPath = properties.getDirectory().resolve(MANIFEST_FILE);
+        Path tempPath = properties.getDirectory().resolve(MANIFEST_FILE + TEMP_SUFFIX);
+        objectMapper.writeValue(tempPath.toFile(),
+                new ColdTierManifest(ColdTierManifest.CURRENT_VERSION, new ArrayList<>(updated.values())));
+        Files.move(tempPath, manifestPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        partitions = Collections.unmodifiableNavigableMap(updated);
+    }
+
+    private static void deleteTemporaryFiles(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // ParameterRecordWriteSupport와 동일하게 시스템 기본 타임존 기준 epoch micros로 변환 (파티션 파일은 마이크로초 단위로 저장)
+    private static long toEpochMicros(LocalDateTime dateTime) {
+        return ParameterRecordWriteSupport.toEpochMicros(ZoneId.systemDefault().getRules(), dateTime);
+    }
+
+    private final class PartitionWriter {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final String fileName;
+        private final Path tempPath;
+        private ParquetWriter<ParameterData> writer;
+        private long rows;
+        private boolean committed;
+
+        PartitionWriter(LocalDateTime start, LocalDateTime end) throws IOException {
+            this.start = start;
+            this.end = end;
+            this.fileName = "trace_" + FILE_TIME_FORMAT.format(start) + "_" + FILE_TIME_FORMAT.format(end) + ".parquet";
+            this.tempPath = resolve(fileName + TEMP_SUFFIX);
+            Files.createDirectories(properties.getDirectory());
+            this.writer = ParquetConversionService.writerBuilder(new LocalOutputFile(tempPath))
+                    .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                    .withCompressionCodec(properties.getCodec())
+                    .withRowGroupSize(properties.getRowGroupSize().toBytes())
+                    .withPageRowCountLimit(properties.getPageRowCountLimit())
+                    .withDictionaryEncoding(true)
+                    .withMicrosecondTimestamps(true)
+                    .build();
+        }
+
+        void write(ParameterData data) {
+            try {
+                writer.write(data);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write cold tier partition " + fileName, e);
+            }
+            rows++;
+        }
+
+        ColdTierManifest.Partition commit() throws IOException {
+            writer.close();
+            writer = null;
+            ColdTierManifest.Partition partition;
+            if (rows == 0) {
+                Files.deleteIfExists(tempPath);
+                partition = new ColdTierManifest.Partition(start, end, null, 0, 0, Instant.now());
+            } else {
+                Path target = resolve(fileName);
+                Files.move(tempPath, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                partition = new ColdTierManifest.Partition(start, end, fileName, rows, Files.size(target), Instant.now());
+            }
+            register(partition);
+            committed = true;
+            log.info("Compacted cold tier partition [{}, {}): {} rows, {} bytes.", start, end, rows, partition.fileSize());
+            return partition;
+        }
+
+        void discard() {
+            if (committed) {
+                return;
+            }
+            try {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to close discarded cold tier writer for {}", fileName, e);
+            }
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary cold tier file {}", tempPath, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plan for one export: the cold tier partitions that cover part of the range and the remaining ranges
+ * that have to be read from the database.
+ *
+ * @param coldPartitions Non-empty partitions to read from local files, in time order.
+ * @param hotRanges      Ranges to query from the database, in time order. Both ends are inclusive.
+ */
+public record ExportRoute(List<ColdTierManifest.Partition> coldPartitions, List<HotRange> hotRanges) {
+
+    public static ExportRoute databaseOnly(LocalDateTime start, LocalDateTime end) {
+        return new ExportRoute(List.of(), List.of(new HotRange(start, end)));
+    }
+
+    public record HotRange(LocalDateTime start, LocalDateTime end) {
+    }
+}
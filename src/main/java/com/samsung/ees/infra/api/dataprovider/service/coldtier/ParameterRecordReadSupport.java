@@ -0,0 +1,116 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.api.InitContext;
+import org.apache.parquet.hadoop.api.ReadSupport;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+/**
+ * Parquet {@link ReadSupport} that materializes ParameterRecord rows straight into {@link ParameterData}.
+ * Read-side counterpart of ParameterRecordWriteSupport: TRACE_DATA is returned as the stored (decompressed) JSON bytes,
+ * timestamps are converted back with the system default time zone, in the unit declared by the file schema
+ * ({@code timestamp-micros} for current partition files, {@code timestamp-millis} for export files).
+ */
+class ParameterRecordReadSupport extends ReadSupport<ParameterData> {
+
+    @Override
+    public ReadContext init(InitContext context) {
+        return new ReadContext(context.getFileSchema());
+    }
+
+    @Override
+    public RecordMaterializer<ParameterData> prepareForRead(Configuration configuration, Map<String, String> keyValueMetaData,
+                                                            MessageType fileSchema, ReadContext readContext) {
+        return new ParameterDataMaterializer(readContext.getRequestedSchema(), isMicros(fileSchema.getType("startTime")));
+    }
+
+    private static boolean isMicros(Type timestampField) {
+        return timestampField.getLogicalTypeAnnotation() instanceof LogicalTypeAnnotation.TimestampLogicalTypeAnnotation timestamp
+                && timestamp.getUnit() == LogicalTypeAnnotation.TimeUnit.MICROS;
+    }
+
+    private static class ParameterDataMaterializer extends RecordMaterializer<ParameterData> {
+        private final ZoneId zoneId = ZoneId.systemDefault();
+        private final Converter[] converters = new Converter[4];
+        private final GroupConverter root;
+        private final boolean micros;
+
+        private long paramIndex;
+        private long startTime;
+        private long endTime;
+        private byte[] traceData;
+
+        ParameterDataMaterializer(MessageType schema, boolean micros) {
+            this.micros = micros;
+            converters[schema.getFieldIndex("paramIndex")] = new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    paramIndex = value;
+                }
+            };
+            converters[schema.getFieldIndex("startTime")] = new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    startTime = value;
+                }
+            };
+            converters[schema.getFieldIndex("endTime")] = new PrimitiveConverter() {
+                @Override
+                public void addLong(long value) {
+                    endTime = value;
+                }
+            };
+            converters[schema.getFieldIndex("traceData")] = new PrimitiveConverter() {
+                @Override
+                public void addBinary(Binary value) {
+                    traceData = value.getBytes();
+                }
+            };
+            root = new GroupConverter() {
+                @Override
+                public Converter getConverter(int fieldIndex) {
+                    return converters[fieldIndex];
+                }
+
+                @Override
+                public void start() {
+                    traceData = null;
+                }
+
+                @Override
+                public void end() {
+                }
+            };
+        }
+
+        @Override
+        public ParameterData getCurrentRecord() {
+            return new ParameterData(paramIndex, toLocalDateTime(startTime), toLocalDateTime(endTime), traceData);
+        }
+
+        @Override
+        public GroupConverter getRootConverter() {
+            return root;
+        }
+
+        private LocalDateTime toLocalDateTime(long timestamp) {
+            Instant instant = micros
+                    ? Instant.ofEpochSecond(Math.floorDiv(timestamp, 1_000_000L), Math.floorMod(timestamp, 1_000_000L) * 1_000L)
+                    : Instant.ofEpochMilli(timestamp);
+            return LocalDateTime.ofInstant(instant, zoneId);
+        }
+    }
+}
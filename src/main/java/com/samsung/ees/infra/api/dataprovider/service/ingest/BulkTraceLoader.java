@@ -0,0 +1,81 @@
+package com.samsung.ees.infra.api.dataprovider.service.ingest;
+
+import com.samsung.ees.infra.api.dataprovider.config.BulkLoadProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.BulkLoadResult;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk ingestion path for TD_FD_TRACE_PARAM.
+ * Rows are grouped into batches of {@code batchSize}; batches are GZIP-compressed in parallel on the parallel
+ * scheduler and inserted as multi-row statements, with up to {@code concurrency} batches in flight on separate
+ * pooled connections. Compression of the next batches overlaps with the inserts of the previous ones.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkTraceLoader {
+    private static final long PROGRESS_LOG_ROWS = 100_000;
+
+    private final ParameterDataRepository parameterDataRepository;
+    private final BulkLoadProperties properties;
+
+    /**
+     * Loads the given rows and reports the achieved throughput.
+     */
+    public Mono<BulkLoadResult> load(Flux<RawTraceData> rows) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            AtomicLong inserted = new AtomicLong();
+            AtomicLong batches = new AtomicLong();
+
+            return rows
+                    .buffer(Math.max(1, properties.getBatchSize()))
+                    .flatMap(batch -> Mono.fromCallable(() -> compress(batch)).subscribeOn(Schedulers.parallel()),
+                            Math.max(1, properties.getCompressionParallelism()))
+                    .flatMap(parameterDataRepository::insertBatch, Math.max(1, properties.getConcurrency()))
+                    .doOnNext(count -> {
+                        batches.incrementAndGet();
+                        long total = inserted.addAndGet(count);
+                        if (total / PROGRESS_LOG_ROWS != (total - count) / PROGRESS_LOG_ROWS) {
+                            log.info("Bulk load progress: {} rows ({} rows/sec)", total,
+                                    String.format("%.0f", total * 1_000_000_000.0 / Math.max(1, System.nanoTime() - startedAt)));
+                        }
+                    })
+                    .then(Mono.fromSupplier(() -> new BulkLoadResult(inserted.get(), batches.get(),
+                            Duration.ofNanos(System.nanoTime() - startedAt))))
+                    .doOnNext(result -> log.info("Bulk load completed: {} rows in {} batches, {} ms ({} rows/sec)",
+                            result.rows(), result.batches(), result.elapsed().toMillis(),
+                            String.format("%.0f", result.rowsPerSecond())));
+        });
+    }
+
+    private static List<ParameterData> compress(List<RawTraceData> batch) {
+        List<ParameterData> compressed = new ArrayList<>(batch.size());
+        for (RawTraceData row : batch) {
+            try {
+                compressed.add(new ParameterData(row.paramIndex(), row.startTime(), row.endTime(),
+                        GzipUtil.gzipCompress(row.rawJson().getBytes(StandardCharsets.UTF_8))));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to gzip content for paramIndex: " + row.paramIndex(), e);
+            }
+        }
+        return compressed;
+    }
+}
@@ -0,0 +1,126 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportUsageSummary;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out an {@link ExportUsage} per export and, when the export ends, publishes it:
+ * a log line, {@code export.cpu} / {@code export.allocated} meters tagged by stage, a JFR event,
+ * and the bounded list of recent exports behind the {@code exportusage} actuator endpoint.
+ */
+@Slf4j
+@Service
+public class ExportResourceAccounting {
+    private final ProfilingProperties properties;
+    private final AtomicLong ids = new AtomicLong();
+    private final Deque<ExportUsageSummary> recent = new ArrayDeque<>();
+    private final Map<ExportStage, Timer> cpuTimers = new EnumMap<>(ExportStage.class);
+    private final Map<ExportStage, DistributionSummary> allocationSummaries = new EnumMap<>(ExportStage.class);
+
+    public ExportResourceAccounting(ProfilingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (ExportStage stage : ExportStage.values()) {
+            String tag = stage.name().toLowerCase();
+            cpuTimers.put(stage, Timer.builder("export.cpu")
+                    .tag("stage", tag).description("CPU time spent per export and stage").register(meterRegistry));
+            allocationSummaries.put(stage, DistributionSummary.builder("export.allocated")
+                    .tag("stage", tag).baseUnit("bytes").description("Bytes allocated per export and stage").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Starts accounting for an export, or returns {@link ExportUsage#disabled()} if accounting is off.
+     *
+     * @param description Identifies the export in logs, JFR events and the recent-exports list.
+     */
+    public ExportUsage start(String description) {
+        if (!properties.isAccountingEnabled()) {
+            return ExportUsage.disabled();
+        }
+        return new ExportUsage(ids.incrementAndGet(), description);
+    }
+
+    /**
+     * Publishes the usage of a finished export. No-op for disabled usages.
+     */
+    public void finish(ExportUsage usage, boolean completed) {
+        if (!usage.isEnabled()) {
+            return;
+        }
+        ExportUsageSummary summary = usage.finish(completed);
+        summary.stages().forEach((stage, stageUsage) -> {
+            cpuTimers.get(stage).record(stageUsage.cpuNanos(), TimeUnit.NANOSECONDS);
+            allocationSummaries.get(stage).record(stageUsage.allocatedBytes());
+        });
+        synchronized (recent) {
+            recent.addFirst(summary);
+            while (recent.size() > Math.max(0, properties.getRecentExports())) {
+                recent.removeLast();
+            }
+        }
+        log.info("Export #{} {} {}: {} rows in {} ms, CPU {} ms (query {}, decompress {}, encode {}), allocated {} MB (query {}, decompress {}, encode {})",
+                summary.id(), summary.description(), completed ? "completed" : "failed", summary.rows(), summary.wallMillis(),
+                millis(summary.cpuNanos()), millis(cpu(summary, ExportStage.QUERY)), millis(cpu(summary, ExportStage.DECOMPRESS)),
+                millis(cpu(summary, ExportStage.ENCODE)), megabytes(summary.allocatedBytes()),
+                megabytes(allocated(summary, ExportStage.QUERY)), megabytes(allocated(summary, ExportStage.DECOMPRESS)),
+                megabytes(allocated(summary, ExportStage.ENCODE)));
+    }
+
+    /**
+     * Recently finished exports, heaviest first by the given order.
+     */
+    public List<ExportUsageSummary> recent(RecentOrder order, int limit) {
+        List<ExportUsageSummary> snapshot;
+        synchronized (recent) {
+            snapshot = new ArrayList<>(recent);
+        }
+        if (order != RecentOrder.RECENT) {
+            snapshot.sort(order.comparator);
+        }
+        return snapshot.subList(0, Math.min(Math.max(0, limit), snapshot.size()));
+    }
+
+    public enum RecentOrder {
+        /** Newest first. */
+        RECENT(null),
+        CPU(Comparator.comparingLong(ExportUsageSummary::cpuNanos).reversed()),
+        ALLOCATED(Comparator.comparingLong(ExportUsageSummary::allocatedBytes).reversed());
+
+        private final Comparator<ExportUsageSummary> comparator;
+
+        RecentOrder(Comparator<ExportUsageSummary> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    private static long cpu(ExportUsageSummary summary, ExportStage stage) {
+        return summary.stages().get(stage).cpuNanos();
+    }
+
+    private static long allocated(ExportUsageSummary summary, ExportStage stage) {
+        return summary.stages().get(stage).allocatedBytes();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,13 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+/**
+ * Stages of an export that CPU time and allocation are attributed to.
+ */
+public enum ExportStage {
+    /** Fetching and mapping rows from the database. */
+    QUERY,
+    /** GZIP decompression of TRACE_DATA. */
+    DECOMPRESS,
+    /** Parquet encoding, excluding the decompression done while writing rows. */
+    ENCODE
+}
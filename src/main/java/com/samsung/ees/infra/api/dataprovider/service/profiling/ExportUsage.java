@@ -0,0 +1,272 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import com.samsung.ees.infra.api.dataprovider.dto.ExportUsageSummary;
+import reactor.core.publisher.Flux;
+import reactor.util.context.ContextView;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CPU time and allocated bytes of one export, split by {@link ExportStage} and measured on the threads doing the work
+ * with the HotSpot {@link com.sun.management.ThreadMXBean} counters:
+ * <ul>
+ *   <li>{@link #span(ExportStage)} measures a block on the current thread with thread CPU time (used for ENCODE).</li>
+ *   <li>{@link #nested(ExportStage)} measures a short block inside an open span and deducts it from that span (used per row
+ *       for DECOMPRESS). Allocation is exact; CPU is the elapsed time of the block, since the work is pure CPU and reading
+ *       the thread CPU clock costs about as much as decompressing a small payload.</li>
+ *   <li>{@link #trackQuery(Flux)} charges the threads delivering rows between consecutive rows (every
+ *       {@value #QUERY_CHARGE_INTERVAL} rows). This is approximate when those threads also serve other requests, and rows
+ *       produced on a thread that has an open span (a driver running on the encoding thread) are counted in that span.</li>
+ * </ul>
+ * The usage travels with the export through the Reactor context under {@link #CONTEXT_KEY}.
+ */
+public final class ExportUsage {
+    public static final String CONTEXT_KEY = ExportUsage.class.getName();
+    static final int QUERY_CHARGE_INTERVAL = 64;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+            THREADS instanceof com.sun.management.ThreadMXBean hotspot ? hotspot : null;
+    private static final boolean CPU_TIME_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+    private static final boolean ALLOCATION_SUPPORTED = HOTSPOT_THREADS != null
+            && HOTSPOT_THREADS.isThreadAllocatedMemorySupported() && HOTSPOT_THREADS.isThreadAllocatedMemoryEnabled();
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final ExportUsage DISABLED = new ExportUsage(0, "disabled", false);
+
+    private final long id;
+    private final String description;
+    private final boolean enabled;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<ExportStage, LongAdder> cpuNanos = new EnumMap<>(ExportStage.class);
+    private final Map<ExportStage, LongAdder> allocatedBytes = new EnumMap<>(ExportStage.class);
+    private final LongAdder rows = new LongAdder();
+    private final ExportUsageEvent event;
+
+    ExportUsage(long id, String description) {
+        this(id, description, true);
+    }
+
+    private ExportUsage(long id, String description, boolean enabled) {
+        this.id = id;
+        this.description = description;
+        this.enabled = enabled;
+        for (ExportStage stage : ExportStage.values()) {
+            cpuNanos.put(stage, new LongAdder());
+            allocatedBytes.put(stage, new LongAdder());
+        }
+        this.event = enabled ? new ExportUsageEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+    }
+
+    /**
+     * Usage that records nothing, for exports while accounting is off.
+     */
+    public static ExportUsage disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * The usage of the export running in the given Reactor context, or {@link #disabled()}.
+     */
+    public static ExportUsage from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, DISABLED);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Opens a span measuring the current thread until {@link Span#close()}; nested spans are deducted from it.
+     */
+    public Span span(ExportStage stage) {
+        return enabled ? open(stage, true) : Span.NOOP;
+    }
+
+    /**
+     * Opens a span nested in the span currently open on this thread, or a no-op span if there is none.
+     */
+    public static Span nested(ExportStage stage) {
+        Span parent = CURRENT.get();
+        return parent == null ? Span.NOOP : parent.usage.open(stage, false);
+    }
+
+    /**
+     * Counts the rows of the given query and charges the threads delivering them to {@link ExportStage#QUERY}.
+     */
+    public <T> Flux<T> trackQuery(Flux<T> query) {
+        if (!enabled) {
+            return query;
+        }
+        return Flux.defer(() -> {
+            QueryMeter meter = new QueryMeter();
+            return query.doOnSubscribe(subscription -> meter.mark())
+                    .doOnNext(row -> meter.onRow())
+                    .doFinally(signal -> meter.flush());
+        });
+    }
+
+    /**
+     * Snapshots the usage and, if a JFR recording is running, commits the export's {@link ExportUsageEvent}.
+     */
+    ExportUsageSummary finish(boolean completed) {
+        Map<ExportStage, ExportUsageSummary.StageUsage> stages = new EnumMap<>(ExportStage.class);
+        long totalCpu = 0;
+        long totalAllocated = 0;
+        for (ExportStage stage : ExportStage.values()) {
+            // 중첩 span과 샘플링 경계의 오차로 음수가 나오지 않도록 0으로 보정
+            long cpu = Math.max(0, cpuNanos.get(stage).sum());
+            long allocated = Math.max(0, allocatedBytes.get(stage).sum());
+            stages.put(stage, new ExportUsageSummary.StageUsage(cpu, allocated));
+            totalCpu += cpu;
+            totalAllocated += allocated;
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.exportId = id;
+                event.description = description;
+                event.completed = completed;
+                event.rows = rows.sum();
+                event.queryCpuTime = stages.get(ExportStage.QUERY).cpuNanos();
+                event.queryAllocated = stages.get(ExportStage.QUERY).allocatedBytes();
+                event.decompressCpuTime = stages.get(ExportStage.DECOMPRESS).cpuNanos();
+                event.decompressAllocated = stages.get(ExportStage.DECOMPRESS).allocatedBytes();
+                event.encodeCpuTime = stages.get(ExportStage.ENCODE).cpuNanos();
+                event.encodeAllocated = stages.get(ExportStage.ENCODE).allocatedBytes();
+                event.commit();
+            }
+        }
+        return new ExportUsageSummary(id, description, startedAt, Duration.ofNanos(System.nanoTime() - startNanos).toMillis(),
+                completed, rows.sum(), totalCpu, totalAllocated, stages);
+    }
+
+    private Span open(ExportStage stage, boolean threadCpuTime) {
+        Span span = new Span(this, stage, CURRENT.get(), threadCpuTime);
+        CURRENT.set(span);
+        return span;
+    }
+
+    private void charge(ExportStage stage, long cpu, long allocated) {
+        cpuNanos.get(stage).add(cpu);
+        allocatedBytes.get(stage).add(allocated);
+    }
+
+    static long threadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    static long threadAllocatedBytes() {
+        return ALLOCATION_SUPPORTED ? HOTSPOT_THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Measured block on one thread. Must be closed on the thread that opened it, in reverse order of opening.
+     */
+    public static final class Span implements AutoCloseable {
+        static final Span NOOP = new Span(null, null, null, false);
+
+        private final ExportUsage usage;
+        private final ExportStage stage;
+        private final Span parent;
+        private final boolean threadCpuTime;
+        private final long startCpu;
+        private final long startAllocated;
+        private long childCpu;
+        private long childAllocated;
+
+        private Span(ExportUsage usage, ExportStage stage, Span parent, boolean threadCpuTime) {
+            this.usage = usage;
+            this.stage = stage;
+            this.parent = parent;
+            this.threadCpuTime = threadCpuTime;
+            this.startCpu = usage == null ? 0 : cpu();
+            this.startAllocated = usage == null ? 0 : threadAllocatedBytes();
+        }
+
+        private long cpu() {
+            return threadCpuTime ? threadCpuTime() : System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            if (usage == null) {
+                return;
+            }
+            long cpu = cpu() - startCpu;
+            long allocated = threadAllocatedBytes() - startAllocated;
+            usage.charge(stage, cpu - childCpu, allocated - childAllocated);
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                parent.childCpu += cpu;
+                parent.childAllocated += allocated;
+                CURRENT.set(parent);
+            }
+        }
+    }
+
+    private final class QueryMeter {
+        private final Map<Long, ThreadMark> marks = new ConcurrentHashMap<>();
+
+        void mark() {
+            if (CURRENT.get() == null) {
+                marks.put(Thread.currentThread().threadId(), new ThreadMark(threadCpuTime(), threadAllocatedBytes()));
+            }
+        }
+
+        void onRow() {
+            rows.increment();
+            if (CURRENT.get() != null) {
+                return;
+            }
+            ThreadMark mark = marks.get(Thread.currentThread().threadId());
+            if (mark == null) {
+                mark();
+            } else if (++mark.rows % QUERY_CHARGE_INTERVAL == 0) {
+                charge(mark);
+            }
+        }
+
+        void flush() {
+            ThreadMark mark = marks.remove(Thread.currentThread().threadId());
+            if (mark != null && CURRENT.get() == null) {
+                charge(mark);
+            }
+        }
+
+        private void charge(ThreadMark mark) {
+            long cpu = threadCpuTime();
+            long allocated = threadAllocatedBytes();
+            ExportUsage.this.charge(ExportStage.QUERY, cpu - mark.cpu, allocated - mark.allocated);
+            mark.cpu = cpu;
+            mark.allocated = allocated;
+        }
+    }
+
+    private static final class ThreadMark {
+        private long cpu;
+        private long allocated;
+        private long rows;
+
+        ThreadMark(long cpu, long allocated) {
+            this.cpu = cpu;
+            this.allocated = allocated;
+        }
+    }
+}
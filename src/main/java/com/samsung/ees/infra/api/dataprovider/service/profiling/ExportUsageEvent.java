@@ -0,0 +1,57 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event spanning one export, carrying its per-stage CPU time and allocation.
+ * Lets a recording attribute allocation and CPU samples to the export that caused them.
+ */
+@Name(ExportUsageEvent.NAME)
+@Label("Export Usage")
+@Category({"Trace Parquet", "Export"})
+@Description("CPU time and allocated bytes of one export, per stage")
+class ExportUsageEvent extends Event {
+    static final String NAME = "com.samsung.ees.ExportUsage";
+
+    @Label("Export Id")
+    long exportId;
+
+    @Label("Export")
+    String description;
+
+    @Label("Completed")
+    boolean completed;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Query CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queryCpuTime;
+
+    @Label("Query Allocated")
+    @DataAmount
+    long queryAllocated;
+
+    @Label("Decompress CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long decompressCpuTime;
+
+    @Label("Decompress Allocated")
+    @DataAmount
+    long decompressAllocated;
+
+    @Label("Encode CPU Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long encodeCpuTime;
+
+    @Label("Encode Allocated")
+    @DataAmount
+    long encodeAllocated;
+}
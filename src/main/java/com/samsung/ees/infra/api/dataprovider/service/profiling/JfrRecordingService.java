@@ -0,0 +1,94 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.exception.RecordingInProgressException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Captures short JFR recordings on demand, so CPU and allocation hot spots can be inspected without attaching a profiler.
+ * Only one recording runs at a time; the recording includes the {@link ExportUsageEvent}s of exports finishing meanwhile.
+ */
+@Slf4j
+@Service
+public class JfrRecordingService {
+    private final ProfilingProperties properties;
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    public JfrRecordingService(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Records for the given duration and emits the recording in the JFR file format.
+     * Cancelling the subscription stops and discards the recording.
+     */
+    public Mono<byte[]> record(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(properties.getJfrMaxDuration()) > 0) {
+            return Mono.error(new IllegalArgumentException(
+                    "Recording duration must be positive and at most " + properties.getJfrMaxDuration() + "."));
+        }
+        return Mono.defer(() -> {
+            if (!recording.compareAndSet(false, true)) {
+                return Mono.error(new RecordingInProgressException("A JFR recording is already in progress."));
+            }
+            Recording jfr;
+            try {
+                jfr = new Recording(Configuration.getConfiguration(properties.getJfrSettings()));
+            } catch (IOException | ParseException e) {
+                recording.set(false);
+                return Mono.error(new IllegalStateException("Cannot load JFR settings '" + properties.getJfrSettings() + "'", e));
+            }
+            jfr.setName("trace-parquet-on-demand");
+            jfr.enable(ExportUsageEvent.NAME);
+            jfr.start();
+            log.info("Started on-demand JFR recording ({} settings) for {}.", properties.getJfrSettings(), duration);
+
+            return Mono.delay(duration)
+                    .publishOn(Schedulers.boundedElastic()) // dump은 파일 I/O
+                    .map(tick -> dump(jfr))
+                    .doFinally(signal -> {
+                        jfr.close();
+                        recording.set(false);
+                    });
+        });
+    }
+
+    public boolean isRecording() {
+        return recording.get();
+    }
+
+    private static byte[] dump(Recording jfr) {
+        jfr.stop();
+        Path file = null;
+        try {
+            file = Files.createTempFile("export-profile-", ".jfr");
+            jfr.dump(file);
+            byte[] bytes = Files.readAllBytes(file);
+            log.info("On-demand JFR recording finished: {} bytes.", bytes.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump JFR recording", e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temporary JFR file {}", file, e);
+                }
+            }
+        }
+    }
+}
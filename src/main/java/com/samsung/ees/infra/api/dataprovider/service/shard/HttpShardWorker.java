@@ -0,0 +1,58 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+import com.samsung.ees.infra.api.dataprovider.exception.NoDataFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Worker backed by another instance of this service, reached through its regular export endpoint.
+ * A 404 carrying {@link NoDataFoundException#MARKER_HEADER} is the endpoint's "no data" answer and is mapped to an empty
+ * shard; any other 404 (wrong base URL or context path, an older build without the endpoint) fails the shard.
+ */
+public class HttpShardWorker implements ShardWorker {
+    static final String EXPORT_PATH = "/api/data/parameters/trace/parquet";
+
+    private final String baseUrl;
+    private final WebClient webClient;
+
+    public HttpShardWorker(String baseUrl, WebClient.Builder webClientBuilder) {
+        this.baseUrl = baseUrl;
+        this.webClient = webClientBuilder.baseUrl(baseUrl)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(-1))
+                .build();
+    }
+
+    @Override
+    public String name() {
+        return baseUrl;
+    }
+
+    @Override
+    public Mono<byte[]> export(ExportShard shard) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path(EXPORT_PATH)
+                        .queryParam("parameterIndices", shard.paramIndex())
+                        .queryParam("startTime", shard.startTime())
+                        .queryParam("endTime", shard.endTime())
+                        .build())
+                .accept(MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON)
+                .exchangeToMono(response -> {
+                    if (isNoData(response)) {
+                        return response.releaseBody().thenReturn(new byte[0]);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        return response.bodyToMono(byte[].class).defaultIfEmpty(new byte[0]);
+                    }
+                    return response.createError();
+                });
+    }
+
+    static boolean isNoData(ClientResponse response) {
+        return response.statusCode().equals(HttpStatus.NOT_FOUND)
+                && response.headers().header(NoDataFoundException.MARKER_HEADER).contains("true");
+    }
+}
@@ -0,0 +1,34 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportPriority;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * In-process stand-in for a remote worker instance.
+ * Runs the same query and conversion as the export endpoint against the local connection factory.
+ */
+@RequiredArgsConstructor
+public class LocalShardWorker implements ShardWorker {
+    private final String name;
+    private final ParameterDataRepository parameterDataRepository;
+    private final ParquetConversionService parquetConversionService;
+    private final ExportScheduler exportScheduler;
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Mono<byte[]> export(ExportShard shard) {
+        return parquetConversionService.convertToParquet(exportScheduler.withConnectionPermit(ExportPriority.BULK,
+                parameterDataRepository.findByIdsAndTimeRange(List.of(shard.paramIndex()), shard.startTime(), shard.endTime())));
+    }
+}
@@ -0,0 +1,51 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryOutputFile;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Concatenates Parquet files that share a schema into a single file.
+ * Row groups are copied as-is (no decode/re-encode); the key-value metadata of the first part,
+ * which carries the Avro schema, is kept for the result.
+ */
+public final class ParquetStitcher {
+
+    private ParquetStitcher() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static byte[] stitch(List<byte[]> parts) throws IOException {
+        if (parts.isEmpty()) {
+            return new byte[0];
+        }
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+
+        FileMetaData fileMetaData;
+        try (ParquetFileReader reader = ParquetFileReader.open(new InMemoryInputFile(parts.get(0)))) {
+            fileMetaData = reader.getFileMetaData();
+        }
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ParquetFileWriter writer = new ParquetFileWriter(new InMemoryOutputFile(baos), fileMetaData.getSchema(),
+                ParquetFileWriter.Mode.OVERWRITE, ParquetWriter.DEFAULT_BLOCK_SIZE, ParquetWriter.MAX_PADDING_SIZE_DEFAULT,
+                ParquetProperties.DEFAULT_COLUMN_INDEX_TRUNCATE_LENGTH, ParquetProperties.DEFAULT_STATISTICS_TRUNCATE_LENGTH,
+                ParquetProperties.DEFAULT_PAGE_WRITE_CHECKSUM_ENABLED);
+        writer.start();
+        for (byte[] part : parts) {
+            writer.appendFile(new InMemoryInputFile(part));
+        }
+        writer.end(fileMetaData.getKeyValueMetaData());
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,114 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.dto.CoveredRange;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits a {@link DataExportRequest} into non-overlapping {@link ExportShard}s by parameter index and time slice.
+ * Shards are returned in (PARAM_INDEX, START_TIME) order so that concatenating their output keeps the
+ * ordering of the single-instance query.
+ */
+public final class ShardPlanner {
+
+    private ShardPlanner() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Splits every parameter into fixed slices of {@code sliceDuration}.
+     *
+     * @param maxShards Upper bound on the number of shards; a request needing more is rejected before any shard is built.
+     */
+    public static List<ExportShard> plan(DataExportRequest request, Duration sliceDuration, int maxShards) {
+        return plan(request, Map.of(), sliceDuration, 0, maxShards);
+    }
+
+    /**
+     * Plans the shards of parameters listed in {@code coverage} from their covered ranges: ranges without rows get no
+     * shard, and adjacent ranges are combined until they reach {@code targetShardBytes} (a range is never split).
+     * Parameters missing from {@code coverage} are split into fixed slices of {@code sliceDuration}.
+     *
+     * @param coverage  Covered ranges per parameter, in time order (see {@code ParameterStatsIndex#coverage}).
+     * @param maxShards Upper bound on the number of shards; a request needing more is rejected.
+     */
+    public static List<ExportShard> plan(DataExportRequest request, Map<Long, List<CoveredRange>> coverage,
+                                         Duration sliceDuration, long targetShardBytes, int maxShards) {
+        if (sliceDuration == null || sliceDuration.isZero() || sliceDuration.isNegative()) {
+            throw new IllegalArgumentException("Shard slice duration must be positive.");
+        }
+
+        List<Long> sortedIndices = new ArrayList<>(new LinkedHashSet<>(request.getParameterIndices()));
+        sortedIndices.sort(null);
+
+        // 범위가 매우 길거나 슬라이스가 짧으면 샤드 목록 자체가 메모리를 과도하게 쓰므로 만들기 전에 거절
+        long sliced = sortedIndices.stream().filter(paramIndex -> !coverage.containsKey(paramIndex)).count();
+        long slicesPerParam = Duration.between(request.getStartTime(), request.getEndTime()).dividedBy(sliceDuration) + 1;
+        if (sliced > 0 && (slicesPerParam > maxShards || slicesPerParam * sliced > maxShards)) {
+            throw tooManyShards(maxShards);
+        }
+
+        List<ExportShard> shards = new ArrayList<>();
+        for (Long paramIndex : sortedIndices) {
+            List<CoveredRange> ranges = coverage.get(paramIndex);
+            if (ranges != null) {
+                addCoveredSlices(shards, paramIndex, ranges, targetShardBytes);
+            } else {
+                addFixedSlices(shards, paramIndex, request, sliceDuration);
+            }
+        }
+        if (shards.size() > maxShards) {
+            throw tooManyShards(maxShards);
+        }
+        return shards;
+    }
+
+    private static void addCoveredSlices(List<ExportShard> shards, Long paramIndex, List<CoveredRange> ranges, long targetShardBytes) {
+        LocalDateTime sliceStart = null;
+        LocalDateTime sliceEnd = null;
+        long sliceBytes = 0;
+        for (CoveredRange range : ranges) {
+            // 빈 구간(인접하지 않은 범위) 또는 목표 크기 초과 시 샤드를 나눔
+            boolean adjacent = sliceEnd != null && range.start().equals(sliceEnd.plusNanos(1));
+            if (sliceStart != null && (!adjacent || sliceBytes + range.bytes() > targetShardBytes)) {
+                shards.add(new ExportShard(shards.size(), paramIndex, sliceStart, sliceEnd));
+                sliceStart = null;
+            }
+            if (sliceStart == null) {
+                sliceStart = range.start();
+                sliceBytes = 0;
+            }
+            sliceEnd = range.end();
+            sliceBytes += range.bytes();
+        }
+        if (sliceStart != null) {
+            shards.add(new ExportShard(shards.size(), paramIndex, sliceStart, sliceEnd));
+        }
+    }
+
+    private static void addFixedSlices(List<ExportShard> shards, Long paramIndex, DataExportRequest request, Duration sliceDuration) {
+        LocalDateTime cursor = request.getStartTime();
+        while (!cursor.isAfter(request.getEndTime())) {
+            LocalDateTime next = cursor.plus(sliceDuration);
+            // START_TIME 조건이 양 끝 포함(inclusive)이므로 다음 슬라이스 시작 직전(1ns)까지만 담당
+            LocalDateTime sliceEnd = next.minusNanos(1);
+            if (sliceEnd.isAfter(request.getEndTime())) {
+                sliceEnd = request.getEndTime();
+            }
+            shards.add(new ExportShard(shards.size(), paramIndex, cursor, sliceEnd));
+            cursor = next;
+        }
+    }
+
+    private static IllegalArgumentException tooManyShards(int maxShards) {
+        return new IllegalArgumentException("Export would need more than " + maxShards
+                + " shards; narrow the range or use a longer slice duration.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+import reactor.core.publisher.Mono;
+
+/**
+ * A worker capable of producing the Parquet output of a single {@link ExportShard}.
+ * An empty byte array means the shard matched no rows.
+ */
+public interface ShardWorker {
+
+    String name();
+
+    Mono<byte[]> export(ExportShard shard);
+}
@@ -0,0 +1,163 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.config.ShardingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.CoveredRange;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+import com.samsung.ees.infra.api.dataprovider.exception.ExportRejectedException;
+import com.samsung.ees.infra.api.dataprovider.exception.ShardExportException;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Coordinator for multi-node exports.
+ * Splits a request into shards ({@link ShardPlanner}), fans them out over the configured workers with
+ * per-shard retry of transient failures on the next worker, and stitches the returned row groups into one Parquet file.
+ */
+@Slf4j
+@Service
+public class ShardedExportCoordinator {
+    private final List<ShardWorker> workers;
+    private final ShardingProperties properties;
+    private final ParameterStatsIndex parameterStatsIndex;
+
+    @Autowired
+    public ShardedExportCoordinator(ShardingProperties properties,
+                                    WebClient.Builder webClientBuilder,
+                                    ParameterDataRepository parameterDataRepository,
+                                    ParquetConversionService parquetConversionService,
+                                    ParameterStatsIndex parameterStatsIndex,
+                                    ExportScheduler exportScheduler) {
+        this(properties, createWorkers(properties, webClientBuilder, parameterDataRepository, parquetConversionService, exportScheduler),
+                parameterStatsIndex);
+    }
+
+    /**
+     * @param parameterStatsIndex Index used to plan shards from its buckets and skip ranges without rows; may be null to dispatch fixed slices.
+     */
+    public ShardedExportCoordinator(ShardingProperties properties, List<ShardWorker> workers, ParameterStatsIndex parameterStatsIndex) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard worker is required.");
+        }
+        this.properties = properties;
+        this.workers = List.copyOf(workers);
+        this.parameterStatsIndex = parameterStatsIndex;
+        log.info("Sharded export coordinator initialized with workers: {}", this.workers.stream().map(ShardWorker::name).toList());
+    }
+
+    private static List<ShardWorker> createWorkers(ShardingProperties properties,
+                                                   WebClient.Builder webClientBuilder,
+                                                   ParameterDataRepository parameterDataRepository,
+                                                   ParquetConversionService parquetConversionService,
+                                                   ExportScheduler exportScheduler) {
+        List<ShardWorker> workers = new ArrayList<>();
+        if (properties.getWorkers().isEmpty()) {
+            IntStream.range(0, Math.max(1, properties.getLocalWorkers()))
+                    .forEach(i -> workers.add(new LocalShardWorker("local-" + i,
+                            parameterDataRepository, parquetConversionService, exportScheduler)));
+        } else {
+            properties.getWorkers().forEach(url -> workers.add(new HttpShardWorker(url, webClientBuilder.clone())));
+        }
+        return workers;
+    }
+
+    /**
+     * Exports the request across all workers and returns a single Parquet file.
+     *
+     * @param request The export request to shard.
+     * @return A Mono emitting the stitched Parquet file, or an empty byte array if no shard returned data.
+     */
+    public Mono<byte[]> export(DataExportRequest request) {
+        // 💡 통계 인덱스의 버킷(행 수/바이트)으로 샤드 경계를 정함: 데이터가 없는 구간은 워커에 보내지 않고,
+        // 인접 버킷은 target-shard-size까지 묶음. 인덱스가 보장하지 못하는 파라미터는 고정 슬라이스로 분할
+        Mono<Map<Long, List<CoveredRange>>> coverage = parameterStatsIndex == null
+                ? Mono.empty()
+                : parameterStatsIndex.coverage(request);
+
+        return coverage.defaultIfEmpty(Map.of())
+                .flatMap(covered -> {
+                    List<ExportShard> shards;
+                    try {
+                        shards = ShardPlanner.plan(request, covered, properties.getSliceDuration(),
+                                properties.getTargetShardSize().toBytes(), properties.getMaxShards());
+                    } catch (IllegalArgumentException e) {
+                        return Mono.error(e);
+                    }
+                    log.info("Split export into {} shards ({} of {} parameters planned from stats buckets) across {} workers.",
+                            shards.size(), covered.size(), new HashSet<>(request.getParameterIndices()).size(), workers.size());
+                    return exportShards(shards);
+                });
+    }
+
+    private Mono<byte[]> exportShards(List<ExportShard> shards) {
+        return Flux.fromIterable(shards)
+                .flatMapSequential(this::exportShard, Math.max(1, properties.getConcurrency()))
+                .filter(part -> part.length > 0)
+                .collectList()
+                .publishOn(Schedulers.boundedElastic())
+                .map(parts -> {
+                    try {
+                        byte[] result = ParquetStitcher.stitch(parts);
+                        log.info("Stitched {} non-empty shards into {} bytes.", parts.size(), result.length);
+                        return result;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to stitch shard outputs", e);
+                    }
+                });
+    }
+
+    private Mono<byte[]> exportShard(ExportShard shard) {
+        AtomicInteger attempt = new AtomicInteger();
+        return Mono.defer(() -> {
+                    // 재시도마다 다음 워커로 넘겨 장애 노드에 반복 요청하지 않도록 함
+                    ShardWorker worker = workers.get((shard.shardId() + attempt.getAndIncrement()) % workers.size());
+                    log.debug("Dispatching shard {} to worker {}", shard, worker.name());
+                    return worker.export(shard)
+                            .timeout(properties.getShardTimeout())
+                            .doOnError(e -> log.warn("Shard {} failed on worker {}: {}", shard.shardId(), worker.name(), e.toString()));
+                })
+                .retryWhen(Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+                        .filter(ShardedExportCoordinator::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> new ShardExportException(
+                                "Shard " + shard.shardId() + " failed after " + signal.totalRetries() + " retries", signal.failure())))
+                .onErrorMap(e -> !(e instanceof ShardExportException),
+                        e -> new ShardExportException("Shard " + shard.shardId() + " failed with a non-retryable error", e));
+    }
+
+    /**
+     * Only transient failures are retried on another worker: I/O errors, timeouts, 5xx answers and saturated pools.
+     * A 4xx (bad request, unknown endpoint) would fail the same way on every worker.
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error instanceof UncheckedIOException
+                || error instanceof TimeoutException
+                || error instanceof ExportRejectedException;
+    }
+}
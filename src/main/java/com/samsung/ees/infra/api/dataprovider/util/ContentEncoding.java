@@ -0,0 +1,102 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HTTP content codings supported for export responses, with their streaming encoders.
+ */
+public enum ContentEncoding {
+    ZSTD("zstd") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new ZstdOutputStream(out, level);
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) throws IOException {
+            return new LeveledGzipOutputStream(out, level);
+        }
+    },
+    IDENTITY("identity") {
+        @Override
+        public OutputStream wrap(OutputStream out, int level) {
+            return out;
+        }
+    };
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Wraps the given stream so that everything written to it is encoded; closing the wrapper finishes the encoding.
+     * Flushing the wrapper emits everything written so far, so streamed responses stay progressive.
+     */
+    public abstract OutputStream wrap(OutputStream out, int level) throws IOException;
+
+    /**
+     * Picks the best supported coding from an Accept-Encoding header (RFC 9110 12.5.3).
+     * Higher q-values win; on a tie zstd is preferred over gzip. Codings with q=0 are never chosen.
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        double zstdQ = -1;
+        double gzipQ = -1;
+        double wildcardQ = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            switch (coding) {
+                case "zstd" -> zstdQ = q;
+                case "gzip", "x-gzip" -> gzipQ = q;
+                case "*" -> wildcardQ = q;
+                default -> {
+                }
+            }
+        }
+        if (zstdQ < 0) {
+            zstdQ = wildcardQ;
+        }
+        if (gzipQ < 0) {
+            gzipQ = wildcardQ;
+        }
+        if (zstdQ > 0 && zstdQ >= gzipQ) {
+            return ZSTD;
+        }
+        return gzipQ > 0 ? GZIP : IDENTITY;
+    }
+
+    // syncFlush: flush()가 지금까지의 입력을 압축해 내보내도록 함 (점진 전송에서 row group 단위 전송 유지)
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 64 * 1024, true);
+            def.setLevel(Math.max(Deflater.BEST_SPEED, Math.min(Deflater.BEST_COMPRESSION, level)));
+        }
+    }
+}
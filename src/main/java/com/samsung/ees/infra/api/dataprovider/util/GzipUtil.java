@@ -5,31 +5,81 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Utility class for handling GZIP decompression.
+ * Utility class for handling GZIP compression and decompression.
  */
 public final class GzipUtil {
     static final int BUFFER_SIZE = 8192;
+    private static final long MAX_SIZE_HINT = 64L * 1024 * 1024;
+    // DEFLATE는 이론상 최대 약 1032:1까지 압축되지만 JSON 페이로드는 보통 10:1 이하이므로 힌트를 이 비율로 제한
+    static final int MAX_SIZE_HINT_RATIO = 32;
 
     private GzipUtil() {
         // Private constructor to prevent instantiation
     }
 
+    /**
+     * Decompresses a GZIP byte array.
+     * The output array is sized from the GZIP trailer (ISIZE) and filled directly, so a typical
+     * single-member payload costs exactly one output allocation instead of a copy buffer plus a
+     * growing ByteArrayOutputStream. The trailer is not trusted beyond {@value #MAX_SIZE_HINT_RATIO}
+     * times the compressed length, so a corrupt or hostile blob cannot force a large allocation;
+     * payloads that really expand further grow the buffer as they are read.
+     */
     public static byte[] gzipDecompress(byte[] compressedData) throws IOException {
-        try (ByteArrayInputStream bis = new ByteArrayInputStream(compressedData);
-             GZIPInputStream gis = new GZIPInputStream(bis);
-             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-
-            byte[] buffer = new byte[BUFFER_SIZE];
-            int len;
-            while ((len = gis.read(buffer)) != -1) {
-                baos.write(buffer, 0, len);
+        int expectedSize = uncompressedSizeHint(compressedData);
+        int inputBufferSize = Math.max(1, Math.min(BUFFER_SIZE, compressedData.length));
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(compressedData), inputBufferSize)) {
+            if (expectedSize < 0) {
+                return gis.readAllBytes();
+            }
+            byte[] result = new byte[expectedSize];
+            int read = gis.readNBytes(result, 0, expectedSize);
+            int next = (read == expectedSize) ? gis.read() : -1;
+            if (read == expectedSize && next == -1) {
+                return result;
+            }
+            // ISIZE가 실제 크기와 다르거나(멀티 멤버, 4GB 이상 등) 힌트가 비율 상한에 걸린 경우 일반 경로로 나머지를 읽음
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(BUFFER_SIZE, read * 2));
+            baos.write(result, 0, read);
+            if (next != -1) {
+                baos.write(next);
             }
+            gis.transferTo(baos);
             return baos.toByteArray();
         }
     }
 
+    // GZIP trailer의 마지막 4바이트(ISIZE, little-endian)는 원본 크기 mod 2^32
+    static int uncompressedSizeHint(byte[] compressedData) {
+        int length = compressedData.length;
+        if (length < 18) {
+            return -1;
+        }
+        long size = (compressedData[length - 4] & 0xFFL)
+                | (compressedData[length - 3] & 0xFFL) << 8
+                | (compressedData[length - 2] & 0xFFL) << 16
+                | (compressedData[length - 1] & 0xFFL) << 24;
+        if (size > MAX_SIZE_HINT) {
+            return -1;
+        }
+        return (int) Math.min(size, (long) length * MAX_SIZE_HINT_RATIO);
+    }
+
+    /**
+     * Compresses a byte array into a single-member GZIP byte array, the format stored in TRACE_DATA.
+     */
+    public static byte[] gzipCompress(byte[] data) throws IOException {
+        // JSON 페이로드는 보통 원본의 절반 이하로 압축되므로 초기 버퍼를 그에 맞춰 재할당을 줄임
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (GZIPOutputStream gos = new GZIPOutputStream(baos, Math.max(512, Math.min(BUFFER_SIZE, data.length)))) {
+            gos.write(data);
+        }
+        return baos.toByteArray();
+    }
+
     public static String gzipDecompString(byte[] compressedData) throws IOException {
         return new String(gzipDecompress(compressedData), StandardCharsets.UTF_8);
     }
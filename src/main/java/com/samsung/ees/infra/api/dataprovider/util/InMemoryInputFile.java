@@ -0,0 +1,65 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Parquet {@link InputFile} backed by a byte array.
+ * Counterpart of {@link InMemoryOutputFile}, used to read back or re-assemble Parquet files held in memory.
+ */
+public class InMemoryInputFile implements InputFile {
+    private final byte[] data;
+
+    public InMemoryInputFile(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public long getLength() {
+        return data.length;
+    }
+
+    @Override
+    public SeekableInputStream newStream() {
+        return new InMemorySeekableInputStream(new SeekableByteArrayInputStream(data));
+    }
+
+    private static class SeekableByteArrayInputStream extends ByteArrayInputStream {
+        SeekableByteArrayInputStream(byte[] buf) {
+            super(buf);
+        }
+
+        long position() {
+            return pos;
+        }
+
+        void seek(long newPos) {
+            if (newPos < 0 || newPos > count) {
+                throw new IllegalArgumentException("Seek position out of range: " + newPos);
+            }
+            this.pos = (int) newPos;
+        }
+    }
+
+    private static class InMemorySeekableInputStream extends DelegatingSeekableInputStream {
+        private final SeekableByteArrayInputStream stream;
+
+        InMemorySeekableInputStream(SeekableByteArrayInputStream stream) {
+            super(stream);
+            this.stream = stream;
+        }
+
+        @Override
+        public long getPos() {
+            return stream.position();
+        }
+
+        @Override
+        public void seek(long newPos) {
+            stream.seek(newPos);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import org.apache.parquet.io.DelegatingPositionOutputStream;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Parquet {@link OutputFile} backed by a {@link ByteArrayOutputStream}.
+ * Allows ParquetWriter / ParquetFileWriter to write directly to memory without touching the file system.
+ */
+public class InMemoryOutputFile implements OutputFile {
+    private final ByteArrayOutputStream baos;
+
+    public InMemoryOutputFile(ByteArrayOutputStream baos) {
+        this.baos = baos;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) {
+        return new InMemoryPositionOutputStream(baos);
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+        baos.reset();
+        return new InMemoryPositionOutputStream(baos);
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+        return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+        return 0;
+    }
+
+    private static class InMemoryPositionOutputStream extends DelegatingPositionOutputStream {
+        private final ByteArrayOutputStream baos;
+
+        InMemoryPositionOutputStream(ByteArrayOutputStream baos) {
+            super(baos);
+            this.baos = baos;
+        }
+
+        @Override
+        public long getPos() {
+            return baos.size();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import org.apache.parquet.io.DelegatingSeekableInputStream;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parquet {@link InputFile} for a local file, read through a {@link FileChannel} without the Hadoop file system.
+ * Counterpart of {@link LocalOutputFile}.
+ */
+public class LocalInputFile implements InputFile {
+    private final Path path;
+
+    public LocalInputFile(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public long getLength() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+        return new FileChannelSeekableInputStream(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private static class FileChannelSeekableInputStream extends DelegatingSeekableInputStream {
+        private final FileChannel channel;
+
+        FileChannelSeekableInputStream(FileChannel channel) {
+            // Channels.newInputStream은 채널의 현재 위치에서 읽으므로 seek은 채널 위치 변경으로 충분
+            super(Channels.newInputStream(channel));
+            this.channel = channel;
+        }
+
+        @Override
+        public long getPos() throws IOException {
+            return channel.position();
+        }
+
+        @Override
+        public void seek(long newPos) throws IOException {
+            channel.position(newPos);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Parquet {@link OutputFile} that writes straight through to a caller-owned {@link OutputStream} (e.g. an HTTP response body).
+ * ParquetFileWriter only writes to the stream when it starts the file (magic), flushes a row group and writes the footer,
+ * so an advance of {@link #position()} after a write means a row group is ready to be sent.
+ * Closing the Parquet stream flushes but leaves the underlying stream open.
+ */
+public class StreamingOutputFile implements OutputFile {
+    private final OutputStream out;
+    private long position;
+
+    public StreamingOutputFile(OutputStream out) {
+        this.out = out;
+    }
+
+    /** Bytes handed to the underlying stream so far. */
+    public long position() {
+        return position;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) {
+        return new StreamingPositionOutputStream();
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+        return new StreamingPositionOutputStream();
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+        return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+        return 0;
+    }
+
+    private class StreamingPositionOutputStream extends PositionOutputStream {
+
+        @Override
+        public long getPos() {
+            return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads exported Parquet files back into rows with the JSON payload as text, regardless of the trace encoding.
+ * For key-interned files the payload is rebuilt from the per-file key dictionary in the footer; the result is
+ * the same JSON object as the original, with keys in first-seen order and without insignificant whitespace.
+ */
+public final class TraceParquetReader {
+    /** Footer key naming the trace encoding of the file; absent for plain JSON files. */
+    public static final String ENCODING_METADATA_KEY = "trace.encoding";
+    /** Footer key holding the key dictionary of a key-interned file, as a JSON array of {@link KeyColumn}. */
+    public static final String KEYS_METADATA_KEY = "trace.keys";
+    public static final String KEY_INTERNED = "key-interned";
+    /** Group holding one column per interned key. */
+    public static final String TRACE_GROUP = "trace";
+    /** Column holding payloads that are not a flat JSON object, stored verbatim. */
+    public static final String RAW_COLUMN = "traceDataRaw";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private TraceParquetReader() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Value kind of an interned key's column.
+     */
+    public enum Kind {
+        LONG, DOUBLE, BOOLEAN, STRING,
+        /** Integers mixed with decimals: decimals in the DOUBLE column, integers in the INT64 {@code integerColumn}. */
+        NUMBER,
+        /** Mixed, null or nested values, stored as JSON text. */
+        JSON
+    }
+
+    /**
+     * One entry of the key dictionary: JSON key, column name within the trace group and value kind.
+     * {@code integerColumn} is only set for {@link Kind#NUMBER}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record KeyColumn(String key, String column, Kind kind, String integerColumn) {
+    }
+
+    public static List<RawTraceData> read(byte[] parquet) throws IOException {
+        return read(new InMemoryInputFile(parquet));
+    }
+
+    public static List<RawTraceData> read(InputFile file) throws IOException {
+        List<RawTraceData> rows = new ArrayList<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(file)) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            Map<String, String> metadata = reader.getFooter().getFileMetaData().getKeyValueMetaData();
+            List<KeyColumn> keys = KEY_INTERNED.equals(metadata.get(ENCODING_METADATA_KEY))
+                    ? MAPPER.readValue(metadata.get(KEYS_METADATA_KEY), new TypeReference<>() { })
+                    : null;
+
+            PageReadStore pages;
+            while ((pages = reader.readNextRowGroup()) != null) {
+                RecordReader<Group> recordReader = new ColumnIOFactory().getColumnIO(schema)
+                        .getRecordReader(pages, new GroupRecordConverter(schema));
+                for (long i = 0; i < pages.getRowCount(); i++) {
+                    Group group = recordReader.read();
+                    String traceData = keys == null ? group.getString("traceData", 0) : traceData(group, keys);
+                    rows.add(new RawTraceData(group.getLong("paramIndex", 0),
+                            toLocalDateTime(group.getLong("startTime", 0)),
+                            toLocalDateTime(group.getLong("endTime", 0)),
+                            traceData));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private static String traceData(Group row, List<KeyColumn> keys) {
+        if (row.getType().containsField(RAW_COLUMN) && row.getFieldRepetitionCount(RAW_COLUMN) > 0) {
+            return row.getString(RAW_COLUMN, 0);
+        }
+        // 키가 하나도 없는 파일(모든 payload가 '{}')에는 trace 그룹 자체가 없음
+        Group trace = row.getType().containsField(TRACE_GROUP) && row.getFieldRepetitionCount(TRACE_GROUP) > 0
+                ? row.getGroup(TRACE_GROUP, 0) : null;
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(writer)) {
+            generator.writeStartObject();
+            for (KeyColumn key : trace == null ? List.<KeyColumn>of() : keys) {
+                GroupType traceType = trace.getType();
+                int field = traceType.getFieldIndex(key.column());
+                if (key.kind() == Kind.NUMBER) {
+                    int integerField = traceType.getFieldIndex(key.integerColumn());
+                    if (trace.getFieldRepetitionCount(integerField) > 0) {
+                        generator.writeFieldName(key.key());
+                        generator.writeNumber(trace.getLong(integerField, 0));
+                        continue;
+                    }
+                }
+                if (trace.getFieldRepetitionCount(field) == 0) {
+                    continue;
+                }
+                generator.writeFieldName(key.key());
+                switch (key.kind()) {
+                    case LONG -> generator.writeNumber(trace.getLong(field, 0));
+                    case DOUBLE, NUMBER -> generator.writeNumber(trace.getDouble(field, 0));
+                    case BOOLEAN -> generator.writeBoolean(trace.getBoolean(field, 0));
+                    case STRING -> generator.writeString(trace.getString(field, 0));
+                    case JSON -> generator.writeRawValue(trace.getString(field, 0));
+                }
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild trace JSON", e);
+        }
+        return writer.toString();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
@@ -11,9 +11,11 @@
 -- 💡 [수정] H2 호환성을 위해 데이터 타입을 VARBINARY로 변경
 DROP TABLE IF EXISTS TD_FD_TRACE_PARAM;
 
+-- 💡 [수정] 파라미터별로 여러 행을 적재할 수 있도록 (PARAM_INDEX, START_TIME) 복합 키 사용 (조회 조건/정렬 순서와 동일)
 CREATE TABLE TD_FD_TRACE_PARAM (
-    PARAM_INDEX NUMBER NOT NULL PRIMARY KEY,
-    START_TIME TIMESTAMP,
+    PARAM_INDEX NUMBER NOT NULL,
+    START_TIME TIMESTAMP NOT NULL,
     END_TIME TIMESTAMP,
-    TRACE_DATA VARBINARY(512)
+    TRACE_DATA VARBINARY(512),
+    PRIMARY KEY (PARAM_INDEX, START_TIME)
 );
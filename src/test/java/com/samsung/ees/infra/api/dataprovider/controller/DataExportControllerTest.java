@@ -1,26 +1,52 @@
 package com.samsung.ees.infra.api.dataprovider.controller;
 
+import com.samsung.ees.infra.api.dataprovider.config.ColdTierProperties;
+import com.samsung.ees.infra.api.dataprovider.config.CompressionProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ResultCacheProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
 import com.samsung.ees.infra.api.dataprovider.exception.GlobalExceptionHandler;
 import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
 import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportResultCache;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
 import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.service.ResponseCompressor;
+import com.samsung.ees.infra.api.dataprovider.service.coldtier.ColdTierQueryRouter;
+import com.samsung.ees.infra.api.dataprovider.service.coldtier.ColdTierStore;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportResourceAccounting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -38,11 +64,32 @@ class DataExportControllerTest {
     @Mock // 💡 @MockBean 대신 Mockito의 @Mock 사용
     private ParquetConversionService parquetConversionService;
 
+    @Mock
+    private ParameterStatsIndex parameterStatsIndex;
+
+    @Spy
+    private ExportScheduler exportScheduler = new ExportScheduler(new ConnectionSchedulingProperties(), 4, new SimpleMeterRegistry());
+
+    @Spy
+    private ExportResultCache exportResultCache = new ExportResultCache(new ResultCacheProperties());
+
+    @Spy
+    private ResponseCompressor responseCompressor = new ResponseCompressor(new CompressionProperties());
+
+    @Spy
+    private ColdTierQueryRouter coldTierQueryRouter = new ColdTierQueryRouter(new ColdTierStore(new ColdTierProperties()));
+
+    @Spy
+    private ExportResourceAccounting exportResourceAccounting = new ExportResourceAccounting(new ProfilingProperties(), new SimpleMeterRegistry());
+
     @InjectMocks // 💡 @Mock으로 생성된 객체들을 컨트롤러에 주입
     private DataExportController dataExportController;
 
     @BeforeEach
     void setUp() {
+        // 기본적으로 인덱스는 요청한 PARAM_INDEX를 모두 그대로 반환
+        lenient().when(parameterStatsIndex.nonEmptyParameterIndices(any()))
+                .thenAnswer(invocation -> Mono.just(invocation.<DataExportRequest>getArgument(0).getParameterIndices()));
         // 💡 WebTestClient를 컨트롤러에 직접 바인딩하고, 예외 핸들러를 수동으로 추가
         webTestClient = WebTestClient.bindToController(dataExportController)
                 .controllerAdvice(new GlobalExceptionHandler())
@@ -54,7 +101,7 @@ class DataExportControllerTest {
         // Arrange
         when(parameterDataRepository.findByIdsAndTimeRange(anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Flux.just(new ParameterData(1L, LocalDateTime.now(), LocalDateTime.now(), new byte[0])));
-        when(parquetConversionService.convertToParquet(any()))
+        when(parquetConversionService.convertToParquet(any(), any()))
                 .thenReturn(Mono.just("dummy-parquet-data".getBytes()));
 
         URI uri = UriComponentsBuilder.fromPath("/api/data/parameters/trace/parquet")
@@ -134,7 +181,7 @@ class DataExportControllerTest {
         // Arrange
         when(parameterDataRepository.findByIdsAndTimeRange(anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Flux.empty());
-        when(parquetConversionService.convertToParquet(any()))
+        when(parquetConversionService.convertToParquet(any(), any()))
                 .thenReturn(Mono.just(new byte[0])); // Service returns empty bytes if flux is empty
 
         URI uri = UriComponentsBuilder.fromPath("/api/data/parameters/trace/parquet")
@@ -150,4 +197,53 @@ class DataExportControllerTest {
                 .expectBody()
                 .jsonPath("$.message").isEqualTo("No data found for the given criteria.");
     }
+
+    @Test
+    void exportToParquet_whenStatsIndexReportsNoData_shouldSkipQuery() {
+        // Arrange
+        doReturn(Mono.just(List.of())).when(parameterStatsIndex).nonEmptyParameterIndices(any());
+
+        URI uri = UriComponentsBuilder.fromPath("/api/data/parameters/trace/parquet")
+                .queryParam("parameterIndices", "1,2")
+                .queryParam("startTime", "2023-01-01T00:00:00")
+                .queryParam("endTime", "2023-01-31T23:59:59")
+                .build().toUri();
+
+        // Act & Assert
+        webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isNotFound();
+        verify(parameterDataRepository, never()).findByIdsAndTimeRange(anyList(), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void exportToParquet_withAcceptEncodingGzip_shouldReturnGzipEncodedBody() {
+        // Arrange
+        byte[] parquetBytes = "PAR1-dummy-parquet-data".repeat(200).getBytes();
+        when(parameterDataRepository.findByIdsAndTimeRange(anyList(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(new ParameterData(1L, LocalDateTime.now(), LocalDateTime.now(), new byte[0])));
+        when(parquetConversionService.convertToParquet(any(), any()))
+                .thenReturn(Mono.just(parquetBytes));
+
+        URI uri = UriComponentsBuilder.fromPath("/api/data/parameters/trace/parquet")
+                .queryParam("parameterIndices", "1")
+                .queryParam("startTime", "2023-01-01T00:00:00")
+                .queryParam("endTime", "2023-01-31T23:59:59")
+                .build().toUri();
+
+        // Act & Assert
+        byte[] body = webTestClient.get().uri(uri)
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(parquetBytes, gis.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.ResultCacheProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportResultCacheTest {
+
+    private ResultCacheProperties properties;
+    private MutableClock clock;
+    private ExportResultCache exportResultCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResultCacheProperties();
+        properties.setMaxSize(DataSize.ofBytes(100));
+        properties.setTtl(Duration.ofMinutes(10));
+        clock = new MutableClock();
+        exportResultCache = new ExportResultCache(properties, clock);
+    }
+
+    @Test
+    void get_shouldMatchRegardlessOfIndexOrder() {
+        exportResultCache.put(request(2L, 1L), new byte[10], true);
+
+        assertTrue(exportResultCache.get(request(1L, 2L)).isPresent());
+        assertTrue(exportResultCache.get(request(1L)).isEmpty());
+    }
+
+    @Test
+    void put_whenNotCacheable_shouldNotStore() {
+        ExportResultCache.Entry entry = exportResultCache.put(request(1L), new byte[10], false);
+
+        assertNotNull(entry);
+        assertTrue(exportResultCache.get(request(1L)).isEmpty());
+    }
+
+    @Test
+    void encoded_shouldCompressOncePerEncoding() {
+        ExportResultCache.Entry entry = exportResultCache.put(request(1L), new byte[40], true);
+        AtomicInteger calls = new AtomicInteger();
+
+        byte[] first = entry.encoded(ContentEncoding.GZIP, bytes -> {
+            calls.incrementAndGet();
+            return new byte[8];
+        });
+        byte[] second = exportResultCache.get(request(1L)).orElseThrow().encoded(ContentEncoding.GZIP, bytes -> {
+            calls.incrementAndGet();
+            return new byte[8];
+        });
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+        assertEquals(48, exportResultCache.totalBytes());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedWhenOverSize() {
+        exportResultCache.put(request(1L), new byte[40], true);
+        exportResultCache.put(request(2L), new byte[40], true);
+        exportResultCache.get(request(1L));
+        exportResultCache.put(request(3L), new byte[40], true);
+
+        assertTrue(exportResultCache.get(request(1L)).isPresent());
+        assertTrue(exportResultCache.get(request(2L)).isEmpty());
+        assertEquals(80, exportResultCache.totalBytes());
+    }
+
+    @Test
+    void get_afterTtl_shouldExpire() {
+        exportResultCache.put(request(1L), new byte[10], true);
+        clock.advance(Duration.ofMinutes(11));
+
+        assertTrue(exportResultCache.get(request(1L)).isEmpty());
+        assertEquals(0, exportResultCache.size());
+    }
+
+    @Test
+    void isImmutable_shouldRequireRangeEndBeforeIngestLagHorizon() {
+        properties.setImmutableAfter(Duration.ofDays(1));
+        DataExportRequest request = request(1L);
+
+        // 범위 끝(1/31 23:59:59)이 현재(2/1 00:00) - 1일 이후이므로 아직 행이 추가될 수 있음
+        assertFalse(exportResultCache.isImmutable(request));
+        clock.advance(Duration.ofDays(1));
+        assertTrue(exportResultCache.isImmutable(request));
+    }
+
+    private DataExportRequest request(Long... indices) {
+        DataExportRequest request = new DataExportRequest();
+        request.setParameterIndices(List.of(indices));
+        request.setStartTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        request.setEndTime(LocalDateTime.of(2024, 1, 31, 23, 59, 59));
+        return request;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2024-02-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.exception.ExportRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportSchedulerTest {
+
+    private ConnectionSchedulingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportScheduler exportScheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConnectionSchedulingProperties();
+        properties.setReservedForInteractive(1);
+        properties.setAcquireTimeout(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        exportScheduler = new ExportScheduler(properties, 3, meterRegistry);
+    }
+
+    @Test
+    void classify_shouldTreatSmallEstimatesAsInteractive() {
+        properties.setInteractiveMaxRows(100);
+
+        assertEquals(ExportPriority.INTERACTIVE, exportScheduler.classify(Optional.of(estimate(50))));
+        assertEquals(ExportPriority.BULK, exportScheduler.classify(Optional.of(estimate(500))));
+        assertEquals(ExportPriority.BULK, exportScheduler.classify(Optional.empty()));
+    }
+
+    @Test
+    void bulkExports_shouldLeaveReservedConnectionForInteractive() {
+        Sinks.Many<Integer> bulk1 = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.Many<Integer> bulk2 = Sinks.many().unicast().onBackpressureBuffer();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk1.asFlux()).subscribe();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk2.asFlux()).subscribe();
+        assertEquals(2, exportScheduler.activeCount(ExportPriority.BULK));
+
+        // A third bulk export has to wait although one connection is still free.
+        StepVerifier.create(exportScheduler.withConnectionPermit(ExportPriority.BULK, Flux.just(1)))
+                .expectError(ExportRejectedException.class)
+                .verify();
+        assertEquals(1.0, meterRegistry.get("export.connections.rejected").tag("priority", "bulk").counter().count());
+
+        // The reserved connection still serves an interactive request.
+        StepVerifier.create(exportScheduler.withConnectionPermit(ExportPriority.INTERACTIVE, Flux.just(1, 2)))
+                .expectNext(1, 2)
+                .verifyComplete();
+        assertEquals(0, exportScheduler.activeCount(ExportPriority.INTERACTIVE));
+
+        bulk1.tryEmitComplete();
+        bulk2.tryEmitComplete();
+        assertEquals(0, exportScheduler.activeCount(ExportPriority.BULK));
+    }
+
+    @Test
+    void release_shouldResumeWaitingExport() {
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        Sinks.Many<Integer> bulk1 = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.Many<Integer> bulk2 = Sinks.many().unicast().onBackpressureBuffer();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk1.asFlux()).subscribe();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk2.asFlux()).subscribe();
+
+        StepVerifier.create(exportScheduler.withConnectionPermit(ExportPriority.BULK, Flux.just(42)))
+                .then(() -> assertEquals(1, exportScheduler.pendingCount(ExportPriority.BULK)))
+                .then(bulk1::tryEmitComplete)
+                .expectNext(42)
+                .verifyComplete();
+        assertEquals(0, exportScheduler.pendingCount(ExportPriority.BULK));
+        assertEquals(1, exportScheduler.activeCount(ExportPriority.BULK));
+    }
+
+    @Test
+    void cancelledWaiter_shouldNotLeakPermit() {
+        properties.setAcquireTimeout(Duration.ofSeconds(5));
+        Sinks.Many<Integer> bulk1 = Sinks.many().unicast().onBackpressureBuffer();
+        Sinks.Many<Integer> bulk2 = Sinks.many().unicast().onBackpressureBuffer();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk1.asFlux()).subscribe();
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, bulk2.asFlux()).subscribe();
+
+        exportScheduler.withConnectionPermit(ExportPriority.BULK, Flux.just(1)).subscribe().dispose();
+        assertEquals(0, exportScheduler.pendingCount(ExportPriority.BULK));
+
+        bulk1.tryEmitComplete();
+        bulk2.tryEmitComplete();
+        assertEquals(0, exportScheduler.activeCount(ExportPriority.BULK));
+    }
+
+    private ExportEstimate estimate(long rows) {
+        return new ExportEstimate(rows, rows * 10, List.of(1L), true, null);
+    }
+}
@@ -0,0 +1,147 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import com.samsung.ees.infra.api.dataprovider.util.TraceParquetReader;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyInternedTraceWriterTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private final ParquetConversionService parquetConversionService = new ParquetConversionService();
+
+    @Test
+    void keyInterned_shouldRoundTripEveryPayloadShape() throws IOException {
+        List<String> payloads = List.of(
+                "{\"value\":100,\"status\":\"OK\",\"temp\":20.5,\"valid\":true}",
+                "{\"value\":101.25,\"status\":\"WARN\",\"temp\":21,\"extra\":null}",
+                "{\"status\":\"OK\",\"nested\":{\"a\":[1,2]},\"key with space\":1,\"a.b\":\"x\"}",
+                "{}",
+                "[1,2,3]",
+                "not json",
+                "{\"value\":\"mixed\"}");
+        List<ParameterData> rows = rows(payloads);
+
+        byte[] parquet = convert(rows, TraceEncoding.KEY_INTERNED);
+        List<RawTraceData> read = TraceParquetReader.read(parquet);
+
+        assertEquals(payloads.size(), read.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            assertEquals(rows.get(i).getParamIndex(), read.get(i).paramIndex());
+            assertEquals(rows.get(i).getStartTime(), read.get(i).startTime());
+            assertEquals(rows.get(i).getEndTime(), read.get(i).endTime());
+        }
+        // 'value'는 정수/실수/문자열이 섞여 JSON 컬럼으로 저장되므로 원래 표기가 그대로 유지됨
+        assertEquals(payloads.get(0), read.get(0).rawJson());
+        assertEquals("{\"value\":101.25,\"status\":\"WARN\",\"temp\":21,\"extra\":null}", read.get(1).rawJson());
+        assertEquals(payloads.get(2), read.get(2).rawJson());
+        assertEquals("{}", read.get(3).rawJson());
+        assertEquals("[1,2,3]", read.get(4).rawJson());
+        assertEquals("not json", read.get(5).rawJson());
+        assertEquals(payloads.get(6), read.get(6).rawJson());
+    }
+
+    @Test
+    void keyInterned_shouldKeepMixedIntegerAndDecimalValuesExact() throws IOException {
+        // 2^53 + 1은 double로 표현할 수 없고, 45.0은 정수로 바뀌면 안 됨
+        List<String> payloads = List.of(
+                "{\"value\":45.0,\"temp\":1.5}",
+                "{\"value\":9007199254740993,\"temp\":2}",
+                "{\"value\":-3,\"temp\":2.0}",
+                "{\"value\":0.125}");
+
+        byte[] parquet = convert(rows(payloads), TraceEncoding.KEY_INTERNED);
+
+        assertEquals(payloads, TraceParquetReader.read(parquet).stream().map(RawTraceData::rawJson).toList());
+        Map<String, Set<Encoding>> encodings = new HashMap<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new InMemoryInputFile(parquet))) {
+            for (ColumnChunkMetaData column : reader.getFooter().getBlocks().get(0).getColumns()) {
+                encodings.put(column.getPath().toDotString(), column.getEncodings());
+            }
+        }
+        assertTrue(encodings.get("trace.value").contains(Encoding.BYTE_STREAM_SPLIT), encodings.toString());
+        assertTrue(encodings.get("trace.value_int").contains(Encoding.DELTA_BINARY_PACKED), encodings.toString());
+    }
+
+    @Test
+    void keyInterned_shouldUseTypedEncodingsPerColumn() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        String[] statuses = {"OK", "WARN", "CRITICAL"};
+        for (int i = 0; i < 2000; i++) {
+            payloads.add("{\"value\": " + i + ", \"status\": \"" + statuses[i % 3] + "\", \"temp\": " + (20 + i % 50) + ".5}");
+        }
+
+        byte[] parquet = convert(rows(payloads), TraceEncoding.KEY_INTERNED);
+
+        Map<String, Set<Encoding>> encodings = new HashMap<>();
+        try (ParquetFileReader reader = ParquetFileReader.open(new InMemoryInputFile(parquet))) {
+            for (ColumnChunkMetaData column : reader.getFooter().getBlocks().get(0).getColumns()) {
+                encodings.put(column.getPath().toDotString(), column.getEncodings());
+            }
+        }
+        assertTrue(encodings.get("trace.value").contains(Encoding.DELTA_BINARY_PACKED), encodings.toString());
+        assertTrue(encodings.get("trace.temp").contains(Encoding.BYTE_STREAM_SPLIT), encodings.toString());
+        assertTrue(encodings.get("trace.status").contains(Encoding.RLE_DICTIONARY), encodings.toString());
+        assertTrue(encodings.get("startTime").contains(Encoding.DELTA_BINARY_PACKED), encodings.toString());
+
+        List<RawTraceData> read = TraceParquetReader.read(parquet);
+        assertEquals("{\"value\":1999,\"status\":\"WARN\",\"temp\":69.5}", read.get(1999).rawJson());
+    }
+
+    @Test
+    void keyInterned_shouldBeSmallerThanJsonForRepetitivePayloads() throws IOException {
+        List<String> payloads = new ArrayList<>();
+        String[] statuses = {"OK", "WARN", "CRITICAL"};
+        for (int i = 0; i < 5000; i++) {
+            payloads.add("{\"value\": " + i + ", \"status\": \"" + statuses[i % 3] + "\", \"temp\": " + (20 + i % 50) + ".5}");
+        }
+        List<ParameterData> rows = rows(payloads);
+
+        byte[] json = convert(rows, TraceEncoding.JSON);
+        byte[] keyInterned = convert(rows, TraceEncoding.KEY_INTERNED);
+
+        assertTrue(keyInterned.length < json.length,
+                "key-interned " + keyInterned.length + " bytes vs JSON " + json.length + " bytes");
+        // 기존 JSON 파일도 같은 reader로 읽을 수 있어야 함
+        assertEquals(payloads.get(42), TraceParquetReader.read(json).get(42).rawJson());
+    }
+
+    @Test
+    void keyInterned_shouldHandleFilesWithoutAnyKeys() throws IOException {
+        byte[] parquet = convert(rows(List.of("{}", "{ }", "42")), TraceEncoding.KEY_INTERNED);
+
+        List<RawTraceData> read = TraceParquetReader.read(parquet);
+
+        assertEquals(List.of("{}", "{}", "42"), read.stream().map(RawTraceData::rawJson).toList());
+    }
+
+    private byte[] convert(List<ParameterData> rows, TraceEncoding encoding) {
+        return parquetConversionService.convertToParquet(Flux.fromIterable(rows), encoding).block();
+    }
+
+    private static List<ParameterData> rows(List<String> payloads) throws IOException {
+        List<ParameterData> rows = new ArrayList<>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            LocalDateTime start = BASE.plusSeconds(i);
+            rows.add(new ParameterData((long) (i % 4), start, start.plusSeconds(5), TestUtils.createGzipData(payloads.get(i))));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,217 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.config.StatsProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.CoveredRange;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportEstimate;
+import com.samsung.ees.infra.api.dataprovider.dto.ParameterStatsSummary;
+import com.samsung.ees.infra.api.dataprovider.model.TraceBucketStats;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParameterStatsIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    @Mock
+    private ParameterStatsRepository parameterStatsRepository;
+
+    private ExportScheduler exportScheduler;
+    private ParameterStatsIndex parameterStatsIndex;
+
+    @BeforeEach
+    void setUp() {
+        StatsProperties properties = new StatsProperties();
+        properties.setBucketDuration(Duration.ofHours(1));
+        exportScheduler = new ExportScheduler(new ConnectionSchedulingProperties(), 4, new SimpleMeterRegistry());
+        parameterStatsIndex = new ParameterStatsIndex(parameterStatsRepository, properties, exportScheduler);
+    }
+
+    @Test
+    void refresh_shouldBuildPerParameterSummary() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100),
+                row(1L, BASE.plusMinutes(20), 50),
+                row(1L, BASE.plusHours(2), 70),
+                row(2L, BASE.plusHours(1), 30)));
+
+        assertFalse(parameterStatsIndex.isReady());
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+        assertTrue(parameterStatsIndex.isReady());
+
+        List<ParameterStatsSummary> summaries = parameterStatsIndex.summaries(List.of(1L), true);
+        assertEquals(1, summaries.size());
+        ParameterStatsSummary summary = summaries.get(0);
+        assertEquals(3, summary.rowCount());
+        assertEquals(220, summary.compressedBytes());
+        assertEquals(BASE.plusMinutes(10), summary.minStartTime());
+        assertEquals(BASE.plusHours(2), summary.maxStartTime());
+        assertEquals(2, summary.buckets().size());
+        assertEquals(BASE, summary.buckets().get(0).bucketStart());
+        assertEquals(2, summary.buckets().get(0).rowCount());
+        assertEquals(BASE.plusHours(2), parameterStatsIndex.indexedUntil().orElseThrow());
+    }
+
+    @Test
+    void refresh_shouldMergeAggregatedBucketsOfTheSameParameter() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                new TraceBucketStats(1L, BASE, 3, 300, BASE.plusMinutes(5), BASE.plusMinutes(50)),
+                new TraceBucketStats(1L, BASE.plusHours(1), 1, 10, BASE.plusHours(1), BASE.plusHours(1))));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        ParameterStatsSummary summary = parameterStatsIndex.summaries(List.of(1L), true).get(0);
+        assertEquals(4, summary.rowCount());
+        assertEquals(310, summary.compressedBytes());
+        assertEquals(BASE.plusMinutes(5), summary.minStartTime());
+        assertEquals(3, summary.buckets().get(0).rowCount());
+    }
+
+    @Test
+    void estimate_shouldSkipEmptyParametersAndCountBucketsInRange() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100),
+                row(1L, BASE.plusHours(5), 100),
+                row(2L, BASE.plusHours(6), 40)));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        ExportEstimate estimate = parameterStatsIndex.estimate(request(List.of(1L, 2L, 3L), BASE, BASE.plusHours(1))).orElseThrow();
+        assertEquals(1, estimate.estimatedRows());
+        assertEquals(100, estimate.estimatedCompressedBytes());
+        assertEquals(List.of(1L), estimate.nonEmptyParameterIndices());
+        assertTrue(estimate.complete());
+
+        when(parameterStatsRepository.findParameterIndicesWithRows(List.of(2L), BASE, BASE.plusHours(3))).thenReturn(Flux.empty());
+        StepVerifier.create(parameterStatsIndex.nonEmptyParameterIndices(request(List.of(2L), BASE, BASE.plusHours(3))))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    @Test
+    void nonEmptyParameterIndices_whenIndexMissedLateRows_shouldKeepConfirmedIndices() {
+        // 인덱스 구축 이후 watermark(BASE+6h)보다 이전 START_TIME으로 늦게 적재된 파라미터 2의 행
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100),
+                row(2L, BASE.plusHours(6), 40)));
+        when(parameterStatsRepository.findParameterIndicesWithRows(List.of(2L, 3L), BASE, BASE.plusHours(1)))
+                .thenReturn(Flux.just(2L));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+        assertTrue(parameterStatsIndex.estimate(request(List.of(1L, 2L, 3L), BASE, BASE.plusHours(1))).orElseThrow().complete());
+
+        StepVerifier.create(parameterStatsIndex.nonEmptyParameterIndices(request(List.of(1L, 2L, 3L), BASE, BASE.plusHours(1))))
+                .expectNext(List.of(1L, 2L))
+                .verifyComplete();
+    }
+
+    @Test
+    void nonEmptyParameterIndices_shouldHoldAnInteractivePermitWhileConfirming() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(row(1L, BASE.plusMinutes(10), 100)));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+        assertEquals(0, exportScheduler.activeCount(ExportPriority.BULK));
+        Sinks.Many<Long> confirm = Sinks.many().unicast().onBackpressureBuffer();
+        when(parameterStatsRepository.findParameterIndicesWithRows(List.of(2L), BASE, BASE.plusHours(1))).thenReturn(confirm.asFlux());
+
+        StepVerifier.create(parameterStatsIndex.nonEmptyParameterIndices(request(List.of(1L, 2L), BASE, BASE.plusHours(1))))
+                .then(() -> assertEquals(1, exportScheduler.activeCount(ExportPriority.INTERACTIVE)))
+                .then(confirm::tryEmitComplete)
+                .expectNext(List.of(1L))
+                .verifyComplete();
+        assertEquals(0, exportScheduler.activeCount(ExportPriority.INTERACTIVE));
+    }
+
+    @Test
+    void nonEmptyParameterIndices_whenIndexReportsAllNonEmpty_shouldNotQuery() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100)));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        StepVerifier.create(parameterStatsIndex.nonEmptyParameterIndices(request(List.of(1L), BASE, BASE.plusDays(1))))
+                .expectNext(List.of(1L))
+                .verifyComplete();
+        verify(parameterStatsRepository, never()).findParameterIndicesWithRows(anyList(), any(), any());
+        assertFalse(parameterStatsIndex.estimate(request(List.of(2L), BASE, BASE.plusDays(1))).orElseThrow().complete());
+    }
+
+    @Test
+    void coverage_shouldListBucketsWithRowsAndDropParametersWithUnindexedRowsInGaps() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100),
+                row(1L, BASE.plusHours(2).plusMinutes(5), 50),
+                row(2L, BASE.plusHours(3), 40)));
+        // 파라미터 2는 인덱스에 없는 행이 gap(BASE~BASE+3h)에 있음
+        when(parameterStatsRepository.findParameterIndicesWithRowsInRanges(List.of(
+                new ParameterStatsRepository.ParameterRange(1L, BASE.plusHours(1), BASE.plusHours(2).minusNanos(1)),
+                new ParameterStatsRepository.ParameterRange(1L, BASE.plusHours(3), BASE.plusHours(4).minusNanos(1)),
+                new ParameterStatsRepository.ParameterRange(2L, BASE, BASE.plusHours(3).minusNanos(1)))))
+                .thenReturn(Flux.just(2L));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        Map<Long, List<CoveredRange>> coverage = parameterStatsIndex.coverage(request(List.of(1L, 2L), BASE, BASE.plusHours(5))).block();
+
+        assertEquals(List.of(1L), List.copyOf(coverage.keySet()));
+        assertEquals(List.of(
+                new CoveredRange(BASE, BASE.plusHours(1).minusNanos(1), 100),
+                new CoveredRange(BASE.plusHours(2), BASE.plusHours(3).minusNanos(1), 50),
+                // 마지막 집계 버킷(BASE+3h) 이후 구간은 항상 포함
+                new CoveredRange(BASE.plusHours(4), BASE.plusHours(5), 0)), coverage.get(1L));
+    }
+
+    @Test
+    void refresh_afterFullBuild_shouldMergeNewRowsIncrementally() {
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(10), 100)));
+        when(parameterStatsRepository.findBucketStats(BASE.plusMinutes(10))).thenReturn(Flux.just(
+                row(1L, BASE.plusMinutes(30), 10),
+                row(3L, BASE.plusHours(3), 5)));
+
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        List<ParameterStatsSummary> summaries = parameterStatsIndex.summaries(null, false);
+        assertEquals(2, summaries.size());
+        assertEquals(2, summaries.get(0).rowCount());
+        assertEquals(110, summaries.get(0).compressedBytes());
+        assertNull(summaries.get(0).buckets());
+        assertEquals(3L, summaries.get(1).paramIndex());
+        assertEquals(BASE.plusHours(3), parameterStatsIndex.indexedUntil().orElseThrow());
+    }
+
+    /**
+     * Bucket of a single row, as the database aggregation returns it for a bucket holding one row.
+     */
+    private static TraceBucketStats row(Long paramIndex, LocalDateTime startTime, long byteSize) {
+        LocalDateTime bucketStart = startTime.truncatedTo(ChronoUnit.HOURS);
+        return new TraceBucketStats(paramIndex, bucketStart, 1, byteSize, startTime, startTime);
+    }
+
+    private DataExportRequest request(List<Long> indices, LocalDateTime start, LocalDateTime end) {
+        DataExportRequest request = new DataExportRequest();
+        request.setParameterIndices(indices);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return request;
+    }
+}
@@ -68,6 +68,8 @@ class ParquetConversionServiceTest {
 
                         GenericRecord record1 = records.get(0);
                         assertEquals(1L, record1.get("paramIndex"));
+                        assertEquals(java.sql.Timestamp.valueOf(now).getTime(), record1.get("startTime"));
+                        assertEquals(java.sql.Timestamp.valueOf(now.plusHours(1)).getTime(), record1.get("endTime"));
                         assertEquals("{\"value\": 100, \"status\": \"OK\"}", record1.get("traceData").toString());
 
                         GenericRecord record2 = records.get(1);
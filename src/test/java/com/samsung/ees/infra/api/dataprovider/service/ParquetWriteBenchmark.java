@@ -0,0 +1,115 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryOutputFile;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetWriter;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former AvroParquetWriter + GenericRecord write path with {@link ParameterRecordWriteSupport}
+ * and the key-interned layout of {@link KeyInternedTraceWriter}.
+ * Run with the GC profiler to see per-operation allocation (gc.alloc.rate.norm):
+ * {@code mvn -P benchmark test-compile exec:exec -Djmh.args="ParquetWriteBenchmark -prof gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParquetWriteBenchmark {
+
+    @Param({"10000"})
+    private int rows;
+
+    /** {@code typed}: every key keeps one value kind; {@code mixed}: "value" alternates between integers and decimals. */
+    @Param({"typed", "mixed"})
+    private String payload;
+
+    private Schema schema;
+    private List<ParameterData> dataList;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream schemaStream = getClass().getResourceAsStream("/avro/ParameterRecord.avsc")) {
+            schema = new Schema.Parser().parse(schemaStream);
+        }
+        String[] statuses = {"OK", "WARN", "CRITICAL"};
+        LocalDateTime base = LocalDateTime.of(2024, 1, 10, 0, 0);
+        dataList = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String value = payload.equals("mixed") && i % 2 == 1 ? i + ".25" : String.valueOf(i);
+            String json = "{\"value\": " + value + ", \"status\": \"" + statuses[i % 3] + "\", \"temp\": " + (20 + i % 50) + ".5}";
+            LocalDateTime start = base.plusSeconds(i);
+            dataList.add(new ParameterData((long) (i % 16), start, start.plusSeconds(5), TestUtils.createGzipData(json)));
+        }
+    }
+
+    @Benchmark
+    public byte[] genericRecordWriter() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ParquetWriter<GenericRecord> writer = AvroParquetWriter.<GenericRecord>builder(new InMemoryOutputFile(baos))
+                .withSchema(schema)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build()) {
+            for (ParameterData data : dataList) {
+                GenericRecord record = new GenericData.Record(schema);
+                record.put("paramIndex", data.getParamIndex());
+                record.put("startTime", java.sql.Timestamp.valueOf(data.getStartTime()).getTime());
+                record.put("endTime", java.sql.Timestamp.valueOf(data.getEndTime()).getTime());
+                record.put("traceData", GzipUtil.gzipDecompString(data.getTraceData()));
+                writer.write(record);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] directWriteSupport() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ParquetWriter<ParameterData> writer = ParameterRecordWriteSupport.builder(new InMemoryOutputFile(baos), schema)
+                .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+                .build()) {
+            for (ParameterData data : dataList) {
+                writer.write(data);
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] keyInternedWriter() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        KeyInternedTraceWriter writer = new KeyInternedTraceWriter();
+        for (ParameterData data : dataList) {
+            writer.add(data);
+        }
+        writer.writeTo(new InMemoryOutputFile(baos));
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,200 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.github.luben.zstd.ZstdInputStream;
+import com.samsung.ees.infra.api.dataprovider.config.CompressionProperties;
+import com.samsung.ees.infra.api.dataprovider.config.StreamingExportProperties;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import com.samsung.ees.infra.api.dataprovider.util.TraceParquetReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressiveParquetExporterTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 10, 0, 0);
+    private static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    private SimpleMeterRegistry meterRegistry;
+    private StreamingExportProperties properties;
+    private ProgressiveParquetExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new StreamingExportProperties();
+        properties.setRowGroupSize(DataSize.ofKilobytes(16));
+        properties.setPrefetch(64);
+        meterRegistry = new SimpleMeterRegistry();
+        exporter = new ProgressiveParquetExporter(properties, meterRegistry);
+    }
+
+    @Test
+    void write_shouldFlushMagicFirstAndEachRowGroupAsItIsEncoded() throws IOException {
+        List<ParameterData> rows = rows(3000);
+        RecordingOutputStream out = new RecordingOutputStream();
+        AtomicInteger flushesBeforeLastRow = new AtomicInteger(-1);
+        Flux<ParameterData> flux = Flux.fromIterable(rows)
+                .doOnNext(row -> {
+                    if (row == rows.get(rows.size() - 1)) {
+                        flushesBeforeLastRow.set(out.flushedSizes.size());
+                    }
+                });
+
+        ProgressiveParquetExporter.Result result = exporter.write(flux, out, System.nanoTime());
+
+        assertTrue(result.completed());
+        assertEquals(3000, result.rows());
+        assertTrue(result.rowGroups() > 1, "expected several row groups, got " + result.rowGroups());
+        assertNotNull(result.firstByte());
+        assertNotNull(result.firstRowGroup());
+        // 첫 flush는 magic만 포함 (헤더 커밋), 이후 row group이 행을 모두 받기 전에 전송됨
+        assertEquals(MAGIC.length, out.flushedSizes.get(0));
+        assertTrue(flushesBeforeLastRow.get() >= 2, "row groups should be flushed before the last row arrives");
+        assertEquals(out.size(), result.bytes());
+
+        List<RawTraceData> read = TraceParquetReader.read(out.toByteArray());
+        assertEquals(3000, read.size());
+        assertEquals("{\"value\": 2999, \"status\": \"CRITICAL\"}", read.get(2999).rawJson());
+        assertEquals("complete", result.trailers().get(ProgressiveParquetExporter.STATUS_TRAILER));
+        assertEquals("3000", result.trailers().get(ProgressiveParquetExporter.ROWS_TRAILER));
+        assertEquals(1, meterRegistry.timer("export.stream.first-byte").count());
+        assertEquals(1, meterRegistry.timer("export.stream.first-row-group").count());
+    }
+
+    @Test
+    void write_whenTimeoutExceeded_shouldEndWithErrorMarker() {
+        properties.setTimeout(Duration.ofSeconds(5));
+        RecordingOutputStream out = new RecordingOutputStream();
+
+        // 요청 수신 시각을 10초 전으로 두어 첫 행에서 시간 초과
+        ProgressiveParquetExporter.Result result = exporter.write(Flux.fromIterable(rows(100)), out,
+                System.nanoTime() - Duration.ofSeconds(10).toNanos());
+
+        assertFalse(result.completed());
+        assertEquals(0, result.rows());
+        assertTrue(new String(out.toByteArray(), StandardCharsets.UTF_8)
+                .endsWith(ProgressiveParquetExporter.ERROR_MARKER + "Export exceeded the streaming timeout of PT5S\n"));
+    }
+
+    @Test
+    void write_shouldEndWithErrorMarkerAndNoFooterOnFailure() {
+        Flux<ParameterData> flux = Flux.concat(Flux.fromIterable(rows(2000)),
+                Flux.error(new IllegalStateException("Connection lost\nwhile reading")));
+        RecordingOutputStream out = new RecordingOutputStream();
+
+        ProgressiveParquetExporter.Result result = exporter.write(flux, out, System.nanoTime());
+
+        assertFalse(result.completed());
+        // 오류는 prefetch 큐에 남은 행보다 먼저 전달될 수 있음
+        assertTrue(result.rows() > 0 && result.rows() <= 2000);
+        byte[] bytes = out.toByteArray();
+        assertArrayEquals(MAGIC, Arrays.copyOf(bytes, MAGIC.length));
+        String tail = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(tail.endsWith(ProgressiveParquetExporter.ERROR_MARKER + "Connection lost while reading\n"));
+        assertThrows(RuntimeException.class, () -> TraceParquetReader.read(bytes));
+
+        assertEquals("failed", result.trailers().get(ProgressiveParquetExporter.STATUS_TRAILER));
+        assertEquals("Connection lost while reading", result.trailers().get(ProgressiveParquetExporter.ERROR_TRAILER));
+        assertEquals(1, meterRegistry.timer("export.stream.duration", "outcome", "failed").count());
+    }
+
+    @Test
+    void write_shouldProduceValidEmptyFileWhenThereAreNoRows() throws IOException {
+        RecordingOutputStream out = new RecordingOutputStream();
+
+        ProgressiveParquetExporter.Result result = exporter.write(Flux.empty(), out, System.nanoTime());
+
+        assertTrue(result.completed());
+        assertEquals(0, result.rows());
+        assertEquals(0, result.rowGroups());
+        assertNull(result.firstRowGroup());
+        assertTrue(TraceParquetReader.read(out.toByteArray()).isEmpty());
+        assertEquals("0", result.trailers().get(ProgressiveParquetExporter.ROWS_TRAILER));
+    }
+
+    @Test
+    void write_throughGzipEncoder_shouldStayProgressiveAndDecodeToTheFile() throws IOException {
+        ResponseCompressor responseCompressor = new ResponseCompressor(new CompressionProperties());
+        List<ParameterData> rows = rows(3000);
+        RecordingOutputStream out = new RecordingOutputStream();
+        AtomicInteger encodedBeforeLastRow = new AtomicInteger();
+        Flux<ParameterData> flux = Flux.fromIterable(rows)
+                .doOnNext(row -> {
+                    if (row == rows.get(rows.size() - 1)) {
+                        encodedBeforeLastRow.set(out.size());
+                    }
+                });
+
+        OutputStream encoder = responseCompressor.wrap(out, ContentEncoding.GZIP, Long.MAX_VALUE);
+        ProgressiveParquetExporter.Result result = exporter.write(flux, encoder, System.nanoTime());
+        encoder.close();
+
+        assertTrue(result.completed());
+        // sync flush: 마지막 행 이전에 flush된 row group이 이미 압축되어 전송됨
+        assertTrue(encodedBeforeLastRow.get() > 1_000, "encoded bytes before the last row: " + encodedBeforeLastRow.get());
+        byte[] decoded = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes();
+        assertEquals(result.bytes(), decoded.length);
+        List<RawTraceData> read = TraceParquetReader.read(decoded);
+        assertEquals(3000, read.size());
+        assertEquals("{\"value\": 2999, \"status\": \"CRITICAL\"}", read.get(2999).rawJson());
+    }
+
+    @Test
+    void write_throughZstdEncoder_shouldDecodeToTheErrorMarkerOnFailure() throws IOException {
+        ResponseCompressor responseCompressor = new ResponseCompressor(new CompressionProperties());
+        Flux<ParameterData> flux = Flux.concat(Flux.fromIterable(rows(2000)), Flux.error(new IllegalStateException("Connection lost")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        OutputStream encoder = responseCompressor.wrap(out, ContentEncoding.ZSTD, Long.MAX_VALUE);
+        ProgressiveParquetExporter.Result result = exporter.write(flux, encoder, System.nanoTime());
+        encoder.close();
+
+        assertFalse(result.completed());
+        byte[] decoded = new ZstdInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes();
+        assertArrayEquals(MAGIC, Arrays.copyOf(decoded, MAGIC.length));
+        assertTrue(new String(decoded, StandardCharsets.UTF_8).endsWith(ProgressiveParquetExporter.ERROR_MARKER + "Connection lost\n"));
+    }
+
+    private static List<ParameterData> rows(int count) {
+        String[] statuses = {"OK", "WARN", "CRITICAL"};
+        List<ParameterData> rows = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                LocalDateTime start = BASE.plusSeconds(i);
+                rows.add(new ParameterData((long) (i % 8), start, start.plusSeconds(5),
+                        TestUtils.createGzipData("{\"value\": " + i + ", \"status\": \"" + statuses[i % 3] + "\"}")));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return rows;
+    }
+
+    /** Records the stream size at every flush. */
+    private static class RecordingOutputStream extends ByteArrayOutputStream {
+        private final List<Integer> flushedSizes = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushedSizes.add(size());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.samsung.ees.infra.api.dataprovider.service;
+
+import com.github.luben.zstd.Zstd;
+import com.samsung.ees.infra.api.dataprovider.config.CompressionProperties;
+import com.samsung.ees.infra.api.dataprovider.util.ContentEncoding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCompressorTest {
+
+    private CompressionProperties properties;
+    private ResponseCompressor responseCompressor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CompressionProperties();
+        responseCompressor = new ResponseCompressor(properties);
+    }
+
+    @Test
+    void negotiate_shouldHonourQValuesAndPreferZstdOnTie() {
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate(null));
+        assertEquals(ContentEncoding.ZSTD, ContentEncoding.negotiate("gzip, deflate, br, zstd"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("zstd;q=0.5, gzip"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("zstd;q=0, *"));
+        assertEquals(ContentEncoding.ZSTD, ContentEncoding.negotiate("*;q=0.3"));
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("br, deflate"));
+        assertEquals(ContentEncoding.IDENTITY, ContentEncoding.negotiate("gzip;q=0"));
+    }
+
+    @Test
+    void negotiate_shouldSkipSmallResponses() {
+        assertEquals(ContentEncoding.IDENTITY, responseCompressor.negotiate("zstd", 100));
+        assertEquals(ContentEncoding.ZSTD, responseCompressor.negotiate("zstd", 10_000));
+
+        properties.setEnabled(false);
+        assertEquals(ContentEncoding.IDENTITY, responseCompressor.negotiate("zstd", 10_000));
+    }
+
+    @Test
+    void level_shouldDecreaseWithResponseSize() {
+        properties.setSmallResponseSize(DataSize.ofKilobytes(10));
+        properties.setLargeResponseSize(DataSize.ofKilobytes(100));
+
+        assertEquals(6, responseCompressor.level(ContentEncoding.ZSTD, 5_000));
+        assertEquals(3, responseCompressor.level(ContentEncoding.ZSTD, 50_000));
+        assertEquals(1, responseCompressor.level(ContentEncoding.ZSTD, 500_000));
+        assertEquals(9, responseCompressor.level(ContentEncoding.GZIP, 5_000));
+        assertEquals(6, responseCompressor.level(ContentEncoding.GZIP, 50_000));
+    }
+
+    @Test
+    void compress_withZstd_shouldRoundTrip() {
+        byte[] data = "{\"value\": 100, \"status\": \"OK\"}".repeat(1_000).getBytes();
+
+        byte[] compressed = responseCompressor.compress(data, ContentEncoding.ZSTD);
+
+        assertTrue(compressed.length < data.length);
+        assertArrayEquals(data, Zstd.decompress(compressed, data.length));
+        assertSame(data, responseCompressor.compress(data, ContentEncoding.IDENTITY));
+    }
+}
@@ -0,0 +1,249 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.samsung.ees.infra.api.dataprovider.config.ColdTierProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.util.LocalInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.parquet.HadoopReadOptions;
+import org.apache.parquet.ParquetReadOptions;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ColdTierCompactionJobTest {
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime DAY_2 = DAY_1.plusDays(1);
+    private static final LocalDateTime DAY_3 = DAY_1.plusDays(2);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private ParameterDataRepository parameterDataRepository;
+
+    private ColdTierProperties properties;
+    private ColdTierStore coldTierStore;
+    private ColdTierCompactionJob compactionJob;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ColdTierProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(tempDir);
+        properties.setPartitionDuration(Duration.ofDays(1));
+        properties.setCloseDelay(Duration.ofDays(1));
+        properties.setSettleWindow(Duration.ZERO);
+        properties.setPageRowCountLimit(50);
+        coldTierStore = new ColdTierStore(properties);
+
+        // 2024-01-05 12:00 기준 close-delay 1일 -> 01-04 00:00 이전에 끝난 파티션(01-01 ~ 01-03)만 압축 대상
+        clock = new MutableClock(LocalDateTime.of(2024, 1, 5, 12, 0).atZone(ZoneId.systemDefault()).toInstant());
+        ExportScheduler exportScheduler = new ExportScheduler(new ConnectionSchedulingProperties(), 4, new SimpleMeterRegistry());
+        compactionJob = new ColdTierCompactionJob(properties, coldTierStore, parameterDataRepository, exportScheduler, clock);
+
+        lenient().when(parameterDataRepository.findMinStartTime()).thenReturn(Mono.just(DAY_1.plusHours(3)));
+    }
+
+    @Test
+    void compact_shouldMirrorClosedPartitionsAndRecordEmptyOnes() {
+        when(parameterDataRepository.findByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    LocalDateTime start = invocation.getArgument(0);
+                    return start.equals(DAY_2) ? Flux.empty() : Flux.fromIterable(rows(start, 5, 100));
+                });
+
+        StepVerifier.create(compactionJob.compact())
+                .assertNext(compacted -> {
+                    assertEquals(List.of(DAY_1, DAY_2, DAY_3), compacted.stream().map(ColdTierManifest.Partition::start).toList());
+                    assertEquals(500, compacted.get(0).rowCount());
+                    assertTrue(compacted.get(1).isEmpty());
+                    assertNull(compacted.get(1).file());
+                })
+                .verifyComplete();
+
+        assertTrue(Files.exists(tempDir.resolve(ColdTierStore.MANIFEST_FILE)));
+        assertTrue(coldTierStore.covers(DAY_2.plusHours(5)));
+        assertFalse(coldTierStore.covers(DAY_3.plusDays(1)));
+
+        // 이미 압축된 파티션은 다시 압축하지 않음
+        StepVerifier.create(compactionJob.compact())
+                .assertNext(compacted -> assertTrue(compacted.isEmpty()))
+                .verifyComplete();
+
+        // 재시작 시 매니페스트에서 복원
+        ColdTierStore reloaded = new ColdTierStore(properties);
+        assertEquals(coldTierStore.partitions(), reloaded.partitions());
+    }
+
+    @Test
+    void compact_whenQueryFails_shouldLeaveNoPartialFile() {
+        when(parameterDataRepository.findByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.concat(Flux.fromIterable(rows(DAY_1, 1, 10)), Flux.error(new IllegalStateException("connection lost"))));
+
+        StepVerifier.create(compactionJob.compact())
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertTrue(coldTierStore.partitions().isEmpty());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void read_shouldReturnOnlyMatchingRowsAndPruneByColumnIndex() throws IOException {
+        when(parameterDataRepository.findByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(rows(invocation.getArgument(0), 5, 100)));
+        StepVerifier.create(compactionJob.compact()).expectNextCount(1).verifyComplete();
+        ColdTierManifest.Partition partition = coldTierStore.partitions().get(DAY_1);
+
+        LocalDateTime from = DAY_1.plusMinutes(10);
+        LocalDateTime to = DAY_1.plusMinutes(19);
+        List<ParameterData> records = coldTierStore.read(partition, List.of(2L, 4L), from, to).collectList().block();
+
+        assertEquals(20, records.size());
+        assertEquals(2L, records.get(0).getParamIndex());
+        assertEquals(from, records.get(0).getStartTime());
+        assertEquals("{\"param\": 2, \"seq\": 10}", new String(records.get(0).getTraceData(), StandardCharsets.UTF_8));
+        assertEquals(4L, records.get(19).getParamIndex());
+
+        // 정렬된 파일이므로 column index 필터링만으로 후보 행이 전체(500)보다 크게 줄어듦
+        ParquetReadOptions options = HadoopReadOptions.builder(new org.apache.hadoop.conf.Configuration())
+                .withRecordFilter(FilterCompat.get(FilterApi.eq(FilterApi.longColumn("paramIndex"), 2L)))
+                .build();
+        try (ParquetFileReader fileReader = ParquetFileReader.open(new LocalInputFile(coldTierStore.resolve(partition.file())), options)) {
+            assertEquals(500, fileReader.getRecordCount());
+            assertTrue(fileReader.getFilteredRecordCount() <= 150, "candidate rows: " + fileReader.getFilteredRecordCount());
+        }
+    }
+
+    @Test
+    void compact_shouldWaitUntilPartitionRowCountSettles() {
+        properties.setSettleWindow(Duration.ofMinutes(10));
+        properties.setMaxPartitionsPerRun(1);
+        when(parameterDataRepository.countByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Mono.just(100L), Mono.just(200L), Mono.just(200L), Mono.just(200L));
+        when(parameterDataRepository.findByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(rows(invocation.getArgument(0), 2, 100)));
+
+        // 첫 실행은 행 수만 기록, 행 수가 바뀌면 다시 대기
+        StepVerifier.create(compactionJob.compact()).assertNext(compacted -> assertTrue(compacted.isEmpty())).verifyComplete();
+        clock.advance(Duration.ofMinutes(10));
+        StepVerifier.create(compactionJob.compact()).assertNext(compacted -> assertTrue(compacted.isEmpty())).verifyComplete();
+
+        // 행 수는 같지만 아직 settle window 이내
+        clock.advance(Duration.ofMinutes(5));
+        StepVerifier.create(compactionJob.compact()).assertNext(compacted -> assertTrue(compacted.isEmpty())).verifyComplete();
+
+        clock.advance(Duration.ofMinutes(5));
+        StepVerifier.create(compactionJob.compact())
+                .assertNext(compacted -> assertEquals(List.of(DAY_1), compacted.stream().map(ColdTierManifest.Partition::start).toList()))
+                .verifyComplete();
+    }
+
+    @Test
+    void clear_shouldDeletePartitionsAndManifest() {
+        when(parameterDataRepository.findByTimeRange(any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> Flux.fromIterable(rows(invocation.getArgument(0), 1, 10)));
+        StepVerifier.create(compactionJob.compact()).expectNextCount(1).verifyComplete();
+
+        coldTierStore.clear();
+
+        assertTrue(coldTierStore.partitions().isEmpty());
+        assertTrue(new ColdTierStore(properties).partitions().isEmpty());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void load_shouldDiscardManifestOfOlderVersion() throws IOException {
+        Files.writeString(tempDir.resolve(ColdTierStore.MANIFEST_FILE), """
+                {"version": 1, "partitions": [{"start": "2024-01-01T00:00:00", "end": "2024-01-02T00:00:00",
+                  "file": null, "rowCount": 0, "fileSize": 0, "compactedAt": "2024-01-03T00:00:00Z"}]}
+                """);
+
+        assertTrue(new ColdTierStore(properties).partitions().isEmpty());
+        assertFalse(Files.exists(tempDir.resolve(ColdTierStore.MANIFEST_FILE)));
+    }
+
+    private static List<ParameterData> rows(LocalDateTime partitionStart, int params, int rowsPerParam) {
+        List<ParameterData> rows = new ArrayList<>();
+        try {
+            for (long param = 1; param <= params; param++) {
+                for (int seq = 0; seq < rowsPerParam; seq++) {
+                    LocalDateTime start = partitionStart.plusMinutes(seq);
+                    rows.add(new ParameterData(param, start, start.plusSeconds(30),
+                            TestUtils.createGzipData("{\"param\": " + param + ", \"seq\": " + seq + "}")));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
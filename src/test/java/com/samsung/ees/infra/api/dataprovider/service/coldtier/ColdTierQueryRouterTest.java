@@ -0,0 +1,182 @@
+package com.samsung.ees.infra.api.dataprovider.service.coldtier;
+
+import com.samsung.ees.infra.api.dataprovider.config.ColdTierProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportUsageSummary;
+import com.samsung.ees.infra.api.dataprovider.dto.TraceEncoding;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportResourceAccounting;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportStage;
+import com.samsung.ees.infra.api.dataprovider.service.profiling.ExportUsage;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColdTierQueryRouterTest {
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private ColdTierStore coldTierStore;
+    private ColdTierQueryRouter router;
+
+    @BeforeEach
+    void setUp() {
+        ColdTierProperties properties = new ColdTierProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(tempDir);
+        properties.setPartitionDuration(Duration.ofDays(1));
+        coldTierStore = new ColdTierStore(properties);
+        router = new ColdTierQueryRouter(coldTierStore);
+
+        // 01-01, 01-02(비어 있음), 01-04 압축 완료 / 01-03 및 01-05 이후는 미압축
+        compact(DAY_1, List.of(row(1L, DAY_1.plusHours(1), "cold-1")));
+        compact(DAY_1.plusDays(1), List.of());
+        compact(DAY_1.plusDays(3), List.of(row(1L, DAY_1.plusDays(3).plusHours(1), "cold-4")));
+    }
+
+    @Test
+    void route_whenDisabled_shouldQueryDatabaseOnly() {
+        ColdTierQueryRouter disabled = new ColdTierQueryRouter(new ColdTierStore(new ColdTierProperties()));
+
+        ExportRoute route = disabled.route(DAY_1, DAY_1.plusDays(3));
+
+        assertTrue(route.coldPartitions().isEmpty());
+        assertEquals(List.of(new ExportRoute.HotRange(DAY_1, DAY_1.plusDays(3))), route.hotRanges());
+    }
+
+    @Test
+    void route_shouldServeCompactedPartitionsLocallyAndQueryGaps() {
+        LocalDateTime start = DAY_1.plusHours(12);
+        LocalDateTime end = DAY_1.plusDays(5).plusHours(6);
+
+        ExportRoute route = router.route(start, end);
+
+        assertEquals(List.of(DAY_1, DAY_1.plusDays(3)), route.coldPartitions().stream().map(ColdTierManifest.Partition::start).toList());
+        assertEquals(List.of(
+                new ExportRoute.HotRange(DAY_1.plusDays(2), DAY_1.plusDays(3).minusNanos(1)),
+                new ExportRoute.HotRange(DAY_1.plusDays(4), end)), route.hotRanges());
+    }
+
+    @Test
+    void route_withinCompactedPartitions_shouldNotQueryDatabase() {
+        ExportRoute route = router.route(DAY_1, DAY_1.plusDays(1).plusHours(23));
+
+        assertEquals(1, route.coldPartitions().size());
+        assertTrue(route.hotRanges().isEmpty());
+    }
+
+    @Test
+    void merge_shouldKeepGlobalParamAndTimeOrder() {
+        compact(DAY_1.plusDays(5), List.of(row(1L, DAY_1.plusDays(5).plusHours(1), "cold-6-p1"), row(2L, DAY_1.plusDays(5).plusHours(1), "cold-6-p2")));
+        LocalDateTime start = DAY_1;
+        LocalDateTime end = DAY_1.plusDays(6).minusNanos(1);
+        ExportRoute route = router.route(start, end);
+        // DB 쿼리는 여러 구간을 한 번에 (PARAM_INDEX, START_TIME) 순으로 반환
+        Flux<ParameterData> database = Flux.just(
+                row(1L, DAY_1.plusDays(2).plusHours(1), "hot-3-p1"),
+                row(1L, DAY_1.plusDays(4).plusHours(1), "hot-5-p1"),
+                row(2L, DAY_1.plusDays(2).plusHours(1), "hot-3-p2"));
+
+        Mono<byte[]> parquet = new ParquetConversionService().convertToParquet(
+                router.merge(route, List.of(1L, 2L), start, end, database), TraceEncoding.JSON, false);
+
+        StepVerifier.create(parquet)
+                .assertNext(bytes -> assertEquals(
+                        List.of("cold-1", "hot-3-p1", "cold-4", "hot-5-p1", "cold-6-p1", "hot-3-p2", "cold-6-p2"), traceData(bytes)))
+                .verifyComplete();
+    }
+
+    @Test
+    void merge_shouldKeepMicrosecondStartTimes() {
+        LocalDateTime first = DAY_1.plusDays(5).plusHours(1).plusNanos(100_000);
+        LocalDateTime second = first.plusNanos(500_000); // 같은 밀리초 구간 안에서 0.5ms 차이
+        compact(DAY_1.plusDays(5), List.of(row(1L, first, "a"), row(1L, second, "b")));
+        ExportRoute route = router.route(DAY_1.plusDays(5), DAY_1.plusDays(6).minusNanos(1));
+
+        List<ParameterData> rows = router.merge(route, List.of(1L), second, DAY_1.plusDays(6).minusNanos(1), Flux.empty())
+                .collectList().block();
+
+        assertEquals(1, rows.size());
+        assertEquals(second, rows.get(0).getStartTime());
+        assertEquals(second.plusSeconds(1), rows.get(0).getEndTime());
+    }
+
+    @Test
+    void merge_shouldDecompressDatabaseRowsOffTheDriverThreadAsDecompressStage() {
+        ExportResourceAccounting accounting = new ExportResourceAccounting(new ProfilingProperties(), new SimpleMeterRegistry());
+        ExportUsage usage = accounting.start("merge");
+        LocalDateTime start = DAY_1.plusDays(2);
+        LocalDateTime end = DAY_1.plusDays(3).minusNanos(1);
+        ExportRoute route = router.route(start, end);
+        Set<String> emittingThreads = ConcurrentHashMap.newKeySet();
+        // DB 드라이버 스레드 역할: 이 스레드에서 행을 전달
+        Flux<ParameterData> database = Flux.fromStream(IntStream.range(0, 500)
+                        .mapToObj(i -> row(1L, start.plusSeconds(i), "{\"value\": " + i + ", \"padding\": \"" + "x".repeat(200) + "\"}")))
+                .doOnNext(row -> emittingThreads.add(Thread.currentThread().getName()));
+
+        List<ParameterData> rows = router.merge(route, List.of(1L), start, end, database)
+                .doOnNext(row -> assertNotEquals("driver", Thread.currentThread().getName()))
+                .contextWrite(Context.of(ExportUsage.CONTEXT_KEY, usage))
+                .subscribeOn(Schedulers.fromExecutor(command -> new Thread(command, "driver").start()))
+                .collectList().block();
+        accounting.finish(usage, true);
+
+        assertEquals(500, rows.size());
+        assertEquals("{\"value\": 499, \"padding\": \"" + "x".repeat(200) + "\"}", new String(rows.get(499).getTraceData()));
+        assertEquals(Set.of("driver"), emittingThreads);
+        ExportUsageSummary summary = accounting.recent(ExportResourceAccounting.RecentOrder.RECENT, 1).get(0);
+        assertTrue(summary.stages().get(ExportStage.DECOMPRESS).allocatedBytes() > 0, "DECOMPRESS usage: " + summary.stages());
+    }
+
+    private void compact(LocalDateTime start, List<ParameterData> rows) {
+        coldTierStore.writePartition(start, start.plusDays(1), Flux.fromIterable(rows)).block();
+    }
+
+    private static ParameterData row(long paramIndex, LocalDateTime startTime, String value) {
+        try {
+            return new ParameterData(paramIndex, startTime, startTime.plusSeconds(1), TestUtils.createGzipData(value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> traceData(byte[] parquet) {
+        List<String> values = new ArrayList<>();
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(new InMemoryInputFile(parquet)).build()) {
+            GenericRecord record;
+            while ((record = reader.read()) != null) {
+                values.add(record.get("traceData").toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return values;
+    }
+}
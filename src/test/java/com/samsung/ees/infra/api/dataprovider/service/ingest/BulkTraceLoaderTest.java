@@ -0,0 +1,103 @@
+package com.samsung.ees.infra.api.dataprovider.service.ingest;
+
+import com.samsung.ees.infra.api.dataprovider.config.BulkLoadProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.model.RawTraceData;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterDataRepository;
+import com.samsung.ees.infra.api.dataprovider.util.GzipUtil;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkTraceLoaderTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private DatabaseClient databaseClient;
+    private ParameterDataRepository parameterDataRepository;
+    private BulkLoadProperties properties;
+    private BulkTraceLoader bulkTraceLoader;
+
+    @BeforeEach
+    void setUp() {
+        // 실제 H2 R2DBC 드라이버로 Statement.add() 멀티 바인딩과 bind marker 처리를 검증
+        databaseClient = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        databaseClient.sql("""
+                CREATE TABLE TD_FD_TRACE_PARAM (
+                    PARAM_INDEX NUMBER NOT NULL,
+                    START_TIME TIMESTAMP NOT NULL,
+                    END_TIME TIMESTAMP,
+                    TRACE_DATA VARBINARY(512),
+                    PRIMARY KEY (PARAM_INDEX, START_TIME)
+                )""").then().block();
+
+        parameterDataRepository = new ParameterDataRepository(databaseClient, new ConnectionSchedulingProperties());
+        properties = new BulkLoadProperties();
+        properties.setBatchSize(300);
+        properties.setConcurrency(3);
+        properties.setCompressionParallelism(2);
+        bulkTraceLoader = new BulkTraceLoader(parameterDataRepository, properties);
+    }
+
+    @Test
+    void load_shouldInsertAllRowsInBatches() {
+        Flux<RawTraceData> rows = Flux.range(0, 2_500)
+                .map(i -> new RawTraceData((long) (i % 10), BASE.plusSeconds(i), i % 7 == 0 ? null : BASE.plusSeconds(i + 1),
+                        "{\"value\": " + i + "}"));
+
+        StepVerifier.create(bulkTraceLoader.load(rows))
+                .assertNext(result -> {
+                    assertEquals(2_500, result.rows());
+                    assertEquals(9, result.batches());
+                    assertTrue(result.rowsPerSecond() > 0);
+                })
+                .verifyComplete();
+
+        StepVerifier.create(databaseClient.sql("SELECT COUNT(*) AS cnt FROM TD_FD_TRACE_PARAM")
+                        .map(row -> row.get("cnt", Long.class)).one())
+                .expectNext(2_500L)
+                .verifyComplete();
+
+        StepVerifier.create(parameterDataRepository.findByIdsAndTimeRange(List.of(3L), BASE.plusSeconds(13), BASE.plusSeconds(23)))
+                .assertNext(data -> {
+                    assertEquals(BASE.plusSeconds(13), data.getStartTime());
+                    assertEquals(BASE.plusSeconds(14), data.getEndTime());
+                    assertEquals("{\"value\": 13}", decompress(data.getTraceData()));
+                })
+                .assertNext(data -> {
+                    assertEquals(BASE.plusSeconds(23), data.getStartTime());
+                    assertEquals(BASE.plusSeconds(24), data.getEndTime());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void load_withDuplicateKey_shouldFail() {
+        Flux<RawTraceData> rows = Flux.just(
+                new RawTraceData(1L, BASE, BASE, "{}"),
+                new RawTraceData(1L, BASE, BASE, "{}"));
+
+        StepVerifier.create(bulkTraceLoader.load(rows))
+                .expectError()
+                .verify();
+    }
+
+    private static String decompress(byte[] data) {
+        try {
+            return GzipUtil.gzipDecompString(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportUsageSummary;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExportResourceAccountingTest {
+
+    private ProfilingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportResourceAccounting accounting;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        accounting = new ExportResourceAccounting(properties, meterRegistry);
+    }
+
+    @Test
+    void nestedSpans_shouldBeDeductedFromTheEnclosingSpan() {
+        ExportUsage usage = accounting.start("nested");
+
+        try (ExportUsage.Span encode = usage.span(ExportStage.ENCODE)) {
+            consume(new byte[256 * 1024]);
+            try (ExportUsage.Span decompress = ExportUsage.nested(ExportStage.DECOMPRESS)) {
+                consume(new byte[4 * 1024 * 1024]);
+            }
+        }
+        ExportUsageSummary summary = usage.finish(true);
+
+        long decompress = summary.stages().get(ExportStage.DECOMPRESS).allocatedBytes();
+        long encode = summary.stages().get(ExportStage.ENCODE).allocatedBytes();
+        assertTrue(decompress >= 4 * 1024 * 1024, "decompress allocated " + decompress);
+        assertTrue(encode >= 256 * 1024 && encode < 4 * 1024 * 1024, "encode allocated " + encode);
+        assertEquals(encode + decompress + summary.stages().get(ExportStage.QUERY).allocatedBytes(), summary.allocatedBytes());
+    }
+
+    @Test
+    void nested_shouldBeNoOpWithoutAnOpenSpan() {
+        ExportUsage usage = accounting.start("no span");
+
+        try (ExportUsage.Span decompress = ExportUsage.nested(ExportStage.DECOMPRESS)) {
+            consume(new byte[1024 * 1024]);
+        }
+
+        assertEquals(0, usage.finish(true).allocatedBytes());
+    }
+
+    @Test
+    void conversion_shouldChargeQueryDecompressAndEncodeStages() throws IOException {
+        List<ParameterData> rows = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 10, 0, 0);
+        for (int i = 0; i < 1000; i++) {
+            rows.add(new ParameterData((long) (i % 4), base.plusSeconds(i), base.plusSeconds(i + 5),
+                    TestUtils.createGzipData("{\"value\": " + i + ", \"payload\": \"" + "x".repeat(512) + "\"}")));
+        }
+        ExportUsage usage = accounting.start("conversion");
+        Flux<ParameterData> query = Flux.fromIterable(rows)
+                .map(row -> new ParameterData(row.getParamIndex(), row.getStartTime(), row.getEndTime(), row.getTraceData().clone()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .transform(usage::trackQuery);
+
+        byte[] parquet = new ParquetConversionService().convertToParquet(query)
+                .contextWrite(Context.of(ExportUsage.CONTEXT_KEY, usage))
+                .block();
+        accounting.finish(usage, parquet != null);
+
+        ExportUsageSummary summary = accounting.recent(ExportResourceAccounting.RecentOrder.RECENT, 1).get(0);
+        assertTrue(summary.completed());
+        assertEquals(1000, summary.rows());
+        // 1000행 x 약 530바이트 JSON이 해제되어 할당됨
+        assertTrue(summary.stages().get(ExportStage.DECOMPRESS).allocatedBytes() >= 500_000, summary.toString());
+        assertTrue(summary.stages().get(ExportStage.ENCODE).allocatedBytes() > 0, summary.toString());
+        assertTrue(summary.stages().get(ExportStage.QUERY).allocatedBytes() > 0, summary.toString());
+        assertTrue(summary.stages().get(ExportStage.ENCODE).cpuNanos() > 0, summary.toString());
+        assertEquals(1, meterRegistry.find("export.allocated").tag("stage", "decompress").summary().count());
+    }
+
+    @Test
+    void recent_shouldKeepBoundedListOrderedByRequestedMeasure() {
+        properties.setRecentExports(2);
+        ExportUsage light = accounting.start("light");
+        ExportUsage heavy = accounting.start("heavy");
+        ExportUsage newest = accounting.start("newest");
+        allocate(light, 64 * 1024);
+        allocate(heavy, 8 * 1024 * 1024);
+        allocate(newest, 1024 * 1024);
+
+        accounting.finish(light, true);
+        accounting.finish(heavy, true);
+        accounting.finish(newest, false);
+
+        assertEquals(List.of("newest", "heavy"), accounting.recent(ExportResourceAccounting.RecentOrder.RECENT, 10)
+                .stream().map(ExportUsageSummary::description).toList());
+        assertEquals("heavy", accounting.recent(ExportResourceAccounting.RecentOrder.ALLOCATED, 1).get(0).description());
+        assertFalse(accounting.recent(ExportResourceAccounting.RecentOrder.RECENT, 1).get(0).completed());
+    }
+
+    @Test
+    void start_shouldReturnDisabledUsageWhenAccountingIsOff() {
+        properties.setAccountingEnabled(false);
+
+        ExportUsage usage = accounting.start("off");
+        Flux<Integer> query = Flux.just(1, 2, 3);
+        accounting.finish(usage, true);
+
+        assertFalse(usage.isEnabled());
+        assertSame(query, usage.trackQuery(query));
+        assertTrue(accounting.recent(ExportResourceAccounting.RecentOrder.RECENT, 10).isEmpty());
+    }
+
+    private static void allocate(ExportUsage usage, int bytes) {
+        try (ExportUsage.Span span = usage.span(ExportStage.ENCODE)) {
+            consume(new byte[bytes]);
+        }
+    }
+
+    private static volatile byte[] sink;
+
+    private static void consume(byte[] bytes) {
+        sink = bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.samsung.ees.infra.api.dataprovider.service.profiling;
+
+import com.samsung.ees.infra.api.dataprovider.config.ProfilingProperties;
+import com.samsung.ees.infra.api.dataprovider.exception.RecordingInProgressException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.Disposable;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecordingServiceTest {
+
+    private ProfilingProperties properties;
+    private JfrRecordingService jfrRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ProfilingProperties();
+        properties.setJfrSettings("default");
+        properties.setJfrMaxDuration(Duration.ofSeconds(10));
+        jfrRecordingService = new JfrRecordingService(properties);
+    }
+
+    @Test
+    void record_shouldReturnRecordingWithExportUsageEvents(@TempDir Path tempDir) throws IOException {
+        ExportResourceAccounting accounting = new ExportResourceAccounting(new ProfilingProperties(), new SimpleMeterRegistry());
+
+        byte[] recording = jfrRecordingService.record(Duration.ofSeconds(1))
+                .doOnSubscribe(s -> accounting.finish(accounting.start("recorded export"), true))
+                .block(Duration.ofSeconds(30));
+
+        assertNotNull(recording);
+        Path file = tempDir.resolve("recording.jfr");
+        Files.write(file, recording);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(ExportUsageEvent.NAME))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("recorded export", events.get(0).getString("description"));
+        assertFalse(jfrRecordingService.isRecording());
+    }
+
+    @Test
+    void record_shouldRejectConcurrentRecordings() {
+        Disposable first = jfrRecordingService.record(Duration.ofSeconds(5)).subscribe();
+        try {
+            StepVerifier.create(jfrRecordingService.record(Duration.ofSeconds(1)))
+                    .expectError(RecordingInProgressException.class)
+                    .verify();
+        } finally {
+            first.dispose();
+        }
+        assertFalse(jfrRecordingService.isRecording());
+    }
+
+    @Test
+    void record_shouldRejectDurationsAboveTheLimit() {
+        StepVerifier.create(jfrRecordingService.record(Duration.ofMinutes(1)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(jfrRecordingService.record(Duration.ZERO))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,309 @@
+package com.samsung.ees.infra.api.dataprovider.service.shard;
+
+import com.samsung.ees.infra.api.dataprovider.config.ShardingProperties;
+import com.samsung.ees.infra.api.dataprovider.config.ConnectionSchedulingProperties;
+import com.samsung.ees.infra.api.dataprovider.config.StatsProperties;
+import com.samsung.ees.infra.api.dataprovider.dto.CoveredRange;
+import com.samsung.ees.infra.api.dataprovider.dto.DataExportRequest;
+import com.samsung.ees.infra.api.dataprovider.dto.ExportShard;
+import com.samsung.ees.infra.api.dataprovider.exception.NoDataFoundException;
+import com.samsung.ees.infra.api.dataprovider.exception.ShardExportException;
+import com.samsung.ees.infra.api.dataprovider.model.ParameterData;
+import com.samsung.ees.infra.api.dataprovider.model.TraceBucketStats;
+import com.samsung.ees.infra.api.dataprovider.repository.ParameterStatsRepository;
+import com.samsung.ees.infra.api.dataprovider.service.ExportScheduler;
+import com.samsung.ees.infra.api.dataprovider.service.ParameterStatsIndex;
+import com.samsung.ees.infra.api.dataprovider.service.ParquetConversionService;
+import com.samsung.ees.infra.api.dataprovider.util.InMemoryInputFile;
+import com.samsung.ees.infra.api.dataprovider.util.TestUtils;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardedExportCoordinatorTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 10, 0, 0);
+
+    private ParquetConversionService parquetConversionService;
+    private ShardingProperties properties;
+    private List<ParameterData> table;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        parquetConversionService = new ParquetConversionService();
+        properties = new ShardingProperties();
+        properties.setSliceDuration(Duration.ofDays(1));
+        properties.setRetryBackoff(Duration.ofMillis(1));
+
+        // 3일에 걸친 2개 파라미터의 샘플 데이터 (공유 DB 역할)
+        table = new ArrayList<>();
+        for (long paramIndex = 1; paramIndex <= 2; paramIndex++) {
+            for (int day = 0; day < 3; day++) {
+                LocalDateTime start = BASE.plusDays(day).plusHours(paramIndex);
+                table.add(new ParameterData(paramIndex, start, start.plusSeconds(5),
+                        TestUtils.createGzipData("{\"value\": " + (paramIndex * 100 + day) + "}")));
+            }
+        }
+    }
+
+    @Test
+    void plan_shouldSplitByParameterAndTimeWithoutOverlap() {
+        List<ExportShard> shards = ShardPlanner.plan(request(List.of(2L, 1L), BASE, BASE.plusDays(2).plusHours(12)), Duration.ofDays(1), 100);
+
+        assertEquals(6, shards.size());
+        assertEquals(1L, shards.get(0).paramIndex());
+        assertEquals(BASE, shards.get(0).startTime());
+        assertEquals(BASE.plusDays(1).minusNanos(1), shards.get(0).endTime());
+        assertEquals(BASE.plusDays(1), shards.get(1).startTime());
+        assertEquals(BASE.plusDays(2).plusHours(12), shards.get(2).endTime());
+        assertEquals(2L, shards.get(3).paramIndex());
+    }
+
+    @Test
+    void export_shouldStitchShardsInQueryOrder() {
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties,
+                List.of(new TableWorker("w0"), new TableWorker("w1"), new TableWorker("w2")), null);
+
+        StepVerifier.create(coordinator.export(request(List.of(1L, 2L), BASE, BASE.plusDays(3))))
+                .assertNext(parquetBytes -> {
+                    List<GenericRecord> records = readParquet(parquetBytes);
+                    assertEquals(6, records.size());
+                    assertEquals(1L, records.get(0).get("paramIndex"));
+                    assertEquals("{\"value\": 100}", records.get(0).get("traceData").toString());
+                    assertEquals("{\"value\": 202}", records.get(5).get("traceData").toString());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void export_whenWorkerFails_shouldRetryOnNextWorker() {
+        AtomicInteger failures = new AtomicInteger();
+        ShardWorker broken = new ShardWorker() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public Mono<byte[]> export(ExportShard shard) {
+                failures.incrementAndGet();
+                return Mono.error(new IOException("worker down"));
+            }
+        };
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties, List.of(broken, new TableWorker("w1")), null);
+
+        StepVerifier.create(coordinator.export(request(List.of(1L, 2L), BASE, BASE.plusDays(3))))
+                .assertNext(parquetBytes -> assertEquals(6, readParquet(parquetBytes).size()))
+                .verifyComplete();
+        assertTrue(failures.get() > 0);
+    }
+
+    @Test
+    void export_whenRetriesExhausted_shouldFailWithShardExportException() {
+        properties.setMaxRetries(1);
+        ShardWorker broken = new ShardWorker() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public Mono<byte[]> export(ExportShard shard) {
+                return Mono.error(new IOException("worker down"));
+            }
+        };
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties, List.of(broken), null);
+
+        StepVerifier.create(coordinator.export(request(List.of(1L), BASE, BASE.plusDays(1))))
+                .expectError(ShardExportException.class)
+                .verify();
+    }
+
+    @Test
+    void export_whenWorkerRejectsRequest_shouldFailWithoutRetry() {
+        AtomicInteger calls = new AtomicInteger();
+        ShardWorker rejecting = new ShardWorker() {
+            @Override
+            public String name() {
+                return "rejecting";
+            }
+
+            @Override
+            public Mono<byte[]> export(ExportShard shard) {
+                calls.incrementAndGet();
+                return Mono.error(WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null));
+            }
+        };
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties, List.of(rejecting, new TableWorker("w1")), null);
+
+        StepVerifier.create(coordinator.export(request(List.of(1L), BASE, BASE.plusHours(1))))
+                .expectError(ShardExportException.class)
+                .verify();
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void plan_shouldRejectRequestsAboveTheShardLimit() {
+        DataExportRequest request = request(List.of(1L, 2L), BASE, BASE.plusDays(9));
+
+        assertEquals(20, ShardPlanner.plan(request, Duration.ofDays(1), 20).size());
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.plan(request, Duration.ofDays(1), 19));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.plan(request, Duration.ofNanos(1), 1000));
+    }
+
+    @Test
+    void plan_withCoverage_shouldCombineAdjacentBucketsUpToTargetSizeAndSkipGaps() {
+        DataExportRequest request = request(List.of(1L, 2L), BASE, BASE.plusDays(2));
+        Map<Long, List<CoveredRange>> coverage = Map.of(1L, List.of(
+                new CoveredRange(BASE, BASE.plusHours(1).minusNanos(1), 40),
+                new CoveredRange(BASE.plusHours(1), BASE.plusHours(2).minusNanos(1), 40),
+                new CoveredRange(BASE.plusHours(2), BASE.plusHours(3).minusNanos(1), 40),
+                new CoveredRange(BASE.plusHours(10), BASE.plusHours(11).minusNanos(1), 10)));
+
+        List<ExportShard> shards = ShardPlanner.plan(request, coverage, Duration.ofDays(1), 100, 100);
+
+        // 파라미터 1: 목표 크기(100)까지 두 버킷, 나머지 버킷, gap 이후 버킷 / 파라미터 2: 인덱스 미보장 → 고정 슬라이스
+        assertEquals(List.of(BASE, BASE.plusHours(2), BASE.plusHours(10)),
+                shards.stream().filter(shard -> shard.paramIndex() == 1L).map(ExportShard::startTime).toList());
+        assertEquals(BASE.plusHours(2).minusNanos(1), shards.get(0).endTime());
+        assertEquals(BASE.plusHours(11).minusNanos(1), shards.get(2).endTime());
+        assertEquals(3, shards.stream().filter(shard -> shard.paramIndex() == 2L).count());
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), shards.stream().map(ExportShard::shardId).toList());
+        assertThrows(IllegalArgumentException.class, () -> ShardPlanner.plan(request, coverage, Duration.ofDays(1), 100, 5));
+    }
+
+    @Test
+    void export_withStatsIndex_shouldNeverDispatchAnEmptyMiddleSlice() {
+        // 파라미터 1은 첫째/셋째 날에만 행이 있음: 둘째 날은 비어 있으므로 워커에 보내지 않아야 함
+        table.removeIf(row -> row.getParamIndex() == 1L && row.getStartTime().toLocalDate().equals(BASE.plusDays(1).toLocalDate()));
+        ParameterStatsRepository parameterStatsRepository = mock(ParameterStatsRepository.class);
+        when(parameterStatsRepository.findBucketStats(isNull())).thenReturn(Flux.fromIterable(table)
+                .map(row -> new TraceBucketStats(row.getParamIndex(), row.getStartTime(), 1, 100, row.getStartTime(), row.getStartTime())));
+        when(parameterStatsRepository.findParameterIndicesWithRowsInRanges(anyList())).thenReturn(Flux.empty());
+        StatsProperties statsProperties = new StatsProperties();
+        ParameterStatsIndex parameterStatsIndex = new ParameterStatsIndex(parameterStatsRepository, statsProperties,
+                new ExportScheduler(new ConnectionSchedulingProperties(), 4, new SimpleMeterRegistry()));
+        StepVerifier.create(parameterStatsIndex.refresh()).verifyComplete();
+
+        List<ExportShard> dispatched = new CopyOnWriteArrayList<>();
+        TableWorker worker = new TableWorker("w0") {
+            @Override
+            public Mono<byte[]> export(ExportShard shard) {
+                dispatched.add(shard);
+                return super.export(shard);
+            }
+        };
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties, List.of(worker), parameterStatsIndex);
+
+        StepVerifier.create(coordinator.export(request(List.of(1L, 2L), BASE, BASE.plusDays(3))))
+                .assertNext(parquetBytes -> assertEquals(5, readParquet(parquetBytes).size()))
+                .verifyComplete();
+        LocalDateTime emptyStart = BASE.plusDays(1);
+        LocalDateTime emptyEnd = BASE.plusDays(2).minusNanos(1);
+        assertTrue(dispatched.stream()
+                        .filter(shard -> shard.paramIndex() == 1L)
+                        .noneMatch(shard -> !shard.endTime().isBefore(emptyStart) && !shard.startTime().isAfter(emptyEnd)),
+                "dispatched shards of parameter 1: " + dispatched);
+        // 행이 있는 버킷(1h) 5개 + 마지막 집계 이후 구간: 파라미터 2는 마지막 버킷과 인접해 하나로 묶이고,
+        // 파라미터 1은 사이에 빈 버킷이 있어 별도 샤드가 됨
+        assertEquals(6, dispatched.size());
+    }
+
+    @Test
+    void httpWorker_shouldTreatOnlyMarked404AsEmptyShard() {
+        ExportShard shard = new ExportShard(0, 1L, BASE, BASE.plusDays(1));
+        HttpShardWorker marked = httpWorker(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(NoDataFoundException.MARKER_HEADER, "true").build());
+        HttpShardWorker unmarked = httpWorker(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(marked.export(shard))
+                .assertNext(bytes -> assertEquals(0, bytes.length))
+                .verifyComplete();
+        StepVerifier.create(unmarked.export(shard))
+                .expectError(WebClientResponseException.NotFound.class)
+                .verify();
+    }
+
+    @Test
+    void export_withNoMatchingRows_shouldProduceEmptyBytes() {
+        ShardedExportCoordinator coordinator = new ShardedExportCoordinator(properties, List.of(new TableWorker("w0")), null);
+
+        StepVerifier.create(coordinator.export(request(List.of(999L), BASE, BASE.plusDays(3))))
+                .assertNext(parquetBytes -> assertEquals(0, parquetBytes.length))
+                .verifyComplete();
+    }
+
+    private HttpShardWorker httpWorker(ClientResponse response) {
+        return new HttpShardWorker("http://worker", WebClient.builder().exchangeFunction(request -> Mono.just(response)));
+    }
+
+    private DataExportRequest request(List<Long> indices, LocalDateTime start, LocalDateTime end) {
+        DataExportRequest request = new DataExportRequest();
+        request.setParameterIndices(indices);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return request;
+    }
+
+    private List<GenericRecord> readParquet(byte[] parquetBytes) {
+        List<GenericRecord> records = new ArrayList<>();
+        try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(new InMemoryInputFile(parquetBytes)).build()) {
+            GenericRecord record;
+            while ((record = reader.read()) != null) {
+                records.add(record);
+            }
+        } catch (IOException e) {
+            fail("Failed to read stitched Parquet file", e);
+        }
+        return records;
+    }
+
+    /**
+     * Local worker stand-in that filters the in-memory table the same way the repository query does.
+     */
+    private class TableWorker implements ShardWorker {
+        private final String name;
+
+        TableWorker(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Mono<byte[]> export(ExportShard shard) {
+            return parquetConversionService.convertToParquet(Flux.fromIterable(table)
+                    .filter(row -> row.getParamIndex().equals(shard.paramIndex()))
+                    .filter(row -> !row.getStartTime().isBefore(shard.startTime()) && !row.getStartTime().isAfter(shard.endTime())));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.samsung.ees.infra.api.dataprovider.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GzipUtilTest {
+
+    @Test
+    void gzipDecompString_shouldRoundTrip() throws IOException {
+        String json = "{\"value\": 100, \"status\": \"OK\"}";
+        assertEquals(json, GzipUtil.gzipDecompString(TestUtils.createGzipData(json)));
+    }
+
+    @Test
+    void gzipDecompress_withEmptyPayload_shouldReturnEmptyArray() throws IOException {
+        assertEquals(0, GzipUtil.gzipDecompress(TestUtils.createGzipData("")).length);
+    }
+
+    @Test
+    void gzipDecompress_withLargePayload_shouldRoundTrip() throws IOException {
+        String large = "{\"status\": \"CRITICAL\"}".repeat(5_000);
+        assertEquals(large, GzipUtil.gzipDecompString(TestUtils.createGzipData(large)));
+    }
+
+    @Test
+    void gzipDecompress_withConcatenatedMembers_shouldReadAllMembers() throws IOException {
+        // 두 번째 멤버의 ISIZE만 trailer에 남으므로 크기 힌트가 실제보다 작은 경우
+        ByteArrayOutputStream concatenated = new ByteArrayOutputStream();
+        concatenated.write(TestUtils.createGzipData("first-member-"));
+        concatenated.write(TestUtils.createGzipData("second"));
+
+        byte[] result = GzipUtil.gzipDecompress(concatenated.toByteArray());
+        assertEquals("first-member-second", new String(result, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void uncompressedSizeHint_shouldNotTrustTrailerBeyondCompressionRatio() {
+        // 헤더 10바이트 + 빈 deflate 블록 2바이트 + CRC32 4바이트 + ISIZE(60MB) 4바이트로 위조된 20바이트 blob
+        byte[] forged = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff, 3, 0, 0, 0, 0, 0, 0, 0, (byte) 0xc0, 0x03};
+
+        assertEquals(20 * GzipUtil.MAX_SIZE_HINT_RATIO, GzipUtil.uncompressedSizeHint(forged));
+        assertThrows(IOException.class, () -> GzipUtil.gzipDecompress(forged));
+    }
+
+    @Test
+    void gzipDecompress_withPayloadBeyondHintRatio_shouldGrowPastTheHint() throws IOException {
+        String repetitive = "0".repeat(1_000_000);
+        byte[] compressed = TestUtils.createGzipData(repetitive);
+        assertTrue(GzipUtil.uncompressedSizeHint(compressed) < repetitive.length());
+
+        assertEquals(repetitive, GzipUtil.gzipDecompString(compressed));
+    }
+}
@@ -20,6 +20,7 @@ public class TestUtils {
         try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
              GZIPOutputStream gzipStream = new GZIPOutputStream(byteStream)) {
             gzipStream.write(content.getBytes(StandardCharsets.UTF_8));
+            gzipStream.finish();
             return byteStream.toByteArray();
         }
     }